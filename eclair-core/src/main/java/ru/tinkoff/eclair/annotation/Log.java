@@ -89,6 +89,20 @@ public @interface Log {
     // TODO: convert to logger array everywhere?
     String logger() default "";
 
+    /**
+     * Enables measuring of method execution duration, appended to the ending and emergency ending events.
+     * Note: the time is measured only for the methods with enabled attribute, asynchronous results are measured till completion.
+     */
+    boolean duration() default false;
+
+    /**
+     * Latency budget in milliseconds: if specified (non-negative), beginning and ending of method execution are logged
+     * only if the execution took longer or ended by {@link Throwable}, the measured duration is appended to the ending event.
+     * Note: beginning event is deferred till the ending, so arguments are printed in their state after the execution.
+     * Disabled by default.
+     */
+    long slowerThan() default -1;
+
     /**
      * Annotated {@link Method} is able to log only beginning of execution.
      * Should be specified with unique {@link #logger} value per method.
@@ -187,6 +201,20 @@ public @interface Log {
          * Note: if not specified single candidate or {@link Primary} bean will be used for processing.
          */
         String logger() default "";
+
+        /**
+         * Enables measuring of method execution duration, appended to the ending and emergency ending events.
+         * Note: the time is measured only for the methods with enabled attribute, asynchronous results are measured till completion.
+         */
+        boolean duration() default false;
+
+        /**
+         * Latency budget in milliseconds: if specified (non-negative), beginning and ending of method execution are logged
+         * only if the execution took longer or ended by {@link Throwable}, the measured duration is appended to the ending event.
+         * Note: beginning event is deferred till the ending, so arguments are printed in their state after the execution.
+         * Disabled by default.
+         */
+        long slowerThan() default -1;
     }
 
     /**
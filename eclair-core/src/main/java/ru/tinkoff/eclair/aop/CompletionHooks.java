@@ -0,0 +1,211 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.aop;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureCallback;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Objects.nonNull;
+
+/**
+ * Attaches callbacks to completion of asynchronous results without blocking.
+ * Supports {@link CompletionStage}, {@link ListenableFuture} and Reactor {@code Mono}/{@code Flux} if Reactor is on the classpath.
+ * Reactor of incompatible version is reported once and treated as absent.
+ * Note: {@code Mono} and {@code Flux} are lazy, so they are replaced by decorated ones notifying on every subscription;
+ * {@code Flux} passes the count of elements emitted to the subscription instead of the elements,
+ * cancelled subscriptions are not notified.
+ * Since the decorated ones are plain {@code Mono} and {@code Flux}, the results are supported only if the declared return
+ * type accepts them, e.g. {@code ConnectableFlux} or {@code MonoProcessor} returned as such are not supported.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+final class CompletionHooks {
+
+    private static final String MONO_CLASS_NAME = "reactor.core.publisher.Mono";
+    private static final String FLUX_CLASS_NAME = "reactor.core.publisher.Flux";
+
+    private static final Reactor reactor = Reactor.load(CompletionHooks.class.getClassLoader(), MONO_CLASS_NAME, FLUX_CLASS_NAME);
+
+    private static final ClassValue<Kind> kinds = new ClassValue<Kind>() {
+        @Override
+        protected Kind computeValue(Class<?> type) {
+            if (CompletionStage.class.isAssignableFrom(type)) {
+                return Kind.COMPLETION_STAGE;
+            }
+            if (ListenableFuture.class.isAssignableFrom(type)) {
+                return Kind.LISTENABLE_FUTURE;
+            }
+            if (nonNull(reactor) && reactor.mono.isAssignableFrom(type)) {
+                return Kind.MONO;
+            }
+            if (nonNull(reactor) && reactor.flux.isAssignableFrom(type)) {
+                return Kind.FLUX;
+            }
+            return Kind.NONE;
+        }
+    };
+
+    private CompletionHooks() {
+    }
+
+    /**
+     * @param returnType declared return type of the method returned the result
+     * @param result     never {@code null}
+     */
+    static boolean supports(Class<?> returnType, Object result) {
+        switch (kinds.get(result.getClass())) {
+            case NONE:
+                return false;
+            case MONO:
+                return returnType.isAssignableFrom(reactor.mono);
+            case FLUX:
+                return returnType.isAssignableFrom(reactor.flux);
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * @param result   never {@code null}, supported by {@link #supports(Class, Object)}
+     * @param callback receives the value and {@code null} or {@code null} and the failure
+     * @return the result to return instead of the original one
+     */
+    static Object whenComplete(Object result, BiConsumer<Object, Throwable> callback) {
+        switch (kinds.get(result.getClass())) {
+            case COMPLETION_STAGE:
+                ((CompletionStage<?>) result).whenComplete((value, throwable) -> callback.accept(value, unwrap(throwable)));
+                return result;
+            case LISTENABLE_FUTURE:
+                ((ListenableFuture<?>) result).addCallback(new ListenableFutureCallback<Object>() {
+                    @Override
+                    public void onSuccess(Object value) {
+                        callback.accept(value, null);
+                    }
+
+                    @Override
+                    public void onFailure(Throwable throwable) {
+                        callback.accept(null, throwable);
+                    }
+                });
+                return result;
+            case MONO:
+                return reactor.whenMonoComplete(result, callback);
+            case FLUX:
+                return reactor.whenFluxComplete(result, callback);
+            default:
+                throw new IllegalArgumentException("Unsupported result type: " + result.getClass().getName());
+        }
+    }
+
+    /**
+     * Dependent stages complete with {@link CompletionException} wrapping the original failure.
+     */
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && nonNull(throwable.getCause())) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    private enum Kind {
+        NONE, COMPLETION_STAGE, LISTENABLE_FUTURE, MONO, FLUX
+    }
+
+    /**
+     * Reactor API accessed by method handles to keep the dependency optional.
+     */
+    static final class Reactor {
+
+        private static final Logger logger = LoggerFactory.getLogger(Reactor.class);
+
+        private final Class<?> mono;
+        private final Class<?> flux;
+        private final MethodHandle monoDoOnSuccess;
+        private final MethodHandle monoDoOnError;
+        private final MethodHandle fluxDefer;
+        private final MethodHandle fluxDoOnNext;
+        private final MethodHandle fluxDoOnComplete;
+        private final MethodHandle fluxDoOnError;
+
+        private Reactor(Class<?> mono, Class<?> flux) throws ReflectiveOperationException {
+            this.mono = mono;
+            this.flux = flux;
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            this.monoDoOnSuccess = lookup.findVirtual(mono, "doOnSuccess", methodType(mono, Consumer.class));
+            this.monoDoOnError = lookup.findVirtual(mono, "doOnError", methodType(mono, Consumer.class));
+            this.fluxDefer = lookup.findStatic(flux, "defer", methodType(flux, Supplier.class));
+            this.fluxDoOnNext = lookup.findVirtual(flux, "doOnNext", methodType(flux, Consumer.class));
+            this.fluxDoOnComplete = lookup.findVirtual(flux, "doOnComplete", methodType(flux, Runnable.class));
+            this.fluxDoOnError = lookup.findVirtual(flux, "doOnError", methodType(flux, Consumer.class));
+        }
+
+        /**
+         * @return {@code null} if Reactor is absent or incompatible
+         */
+        static Reactor load(ClassLoader classLoader, String monoClassName, String fluxClassName) {
+            if (!ClassUtils.isPresent(monoClassName, classLoader)) {
+                return null;
+            }
+            try {
+                return new Reactor(ClassUtils.forName(monoClassName, classLoader), ClassUtils.forName(fluxClassName, classLoader));
+            } catch (ReflectiveOperationException | LinkageError e) {
+                logger.warn("Incompatible Reactor found, results of type Mono and Flux are logged synchronously", e);
+                return null;
+            }
+        }
+
+        Object whenMonoComplete(Object mono, BiConsumer<Object, Throwable> callback) {
+            Object decorated = invoke(monoDoOnSuccess, mono, (Consumer<Object>) value -> callback.accept(value, null));
+            return invoke(monoDoOnError, decorated, (Consumer<Throwable>) throwable -> callback.accept(null, throwable));
+        }
+
+        /**
+         * Elements are counted per subscription, because every subscription replays the {@code Flux}.
+         */
+        Object whenFluxComplete(Object flux, BiConsumer<Object, Throwable> callback) {
+            Supplier<Object> countingFlux = () -> {
+                AtomicLong count = new AtomicLong();
+                Object decorated = invoke(fluxDoOnNext, flux, (Consumer<Object>) value -> count.incrementAndGet());
+                decorated = invoke(fluxDoOnComplete, decorated, (Runnable) () -> callback.accept(count.get(), null));
+                return invoke(fluxDoOnError, decorated, (Consumer<Throwable>) throwable -> callback.accept(null, throwable));
+            };
+            return invoke(fluxDefer, countingFlux);
+        }
+
+        private static Object invoke(MethodHandle method, Object... arguments) {
+            try {
+                return method.invokeWithArguments(arguments);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        }
+    }
+}
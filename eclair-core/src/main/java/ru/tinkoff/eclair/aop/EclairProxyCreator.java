@@ -169,25 +169,25 @@ public class EclairProxyCreator extends AbstractAutoProxyCreator {
     }
 
     private LogAdvisor getLogAdvisor(Class<?> beanClass, String loggerName, EclairLogger eclairLogger) {
-        List<MethodLog> methodLogs = getMethodLogs(beanClass, loggerName);
+        List<MethodLog> methodLogs = getMethodLogs(beanClass, loggerName, eclairLogger);
         return LogAdvisor.newInstance(eclairLogger, methodLogs);
     }
 
-    private List<MethodLog> getMethodLogs(Class<?> beanClass, String loggerName) {
+    private List<MethodLog> getMethodLogs(Class<?> beanClass, String loggerName, EclairLogger eclairLogger) {
         Set<String> loggerNames = loggerBeanNamesResolver.resolve(applicationContext, loggerName);
         return annotationExtractor.getCandidateMethods(beanClass).stream()
-                .map(method -> getMethodLog(loggerNames, method))
+                .map(method -> getMethodLog(loggerNames, method, eclairLogger))
                 .filter(Objects::nonNull)
                 .collect(toList());
     }
 
-    private MethodLog getMethodLog(Set<String> loggerNames, Method method) {
+    private MethodLog getMethodLog(Set<String> loggerNames, Method method, EclairLogger eclairLogger) {
         List<String> parameterNames = parameterNameResolver.tryToResolve(method);
         InLog inLog = annotationDefinitionFactory.buildInLog(loggerNames, method);
         List<ParameterLog> parameterLogs = annotationDefinitionFactory.buildParameterLogs(loggerNames, method);
         OutLog outLog = annotationDefinitionFactory.buildOutLog(loggerNames, method);
         Set<ErrorLog> errorLogs = annotationDefinitionFactory.buildErrorLogs(loggerNames, method);
-        return MethodLogFactory.newInstance(method, parameterNames, inLog, parameterLogs, outLog, errorLogs);
+        return MethodLogFactory.newInstance(method, eclairLogger.getLoggerName(method), parameterNames, inLog, parameterLogs, outLog, errorLogs);
     }
 
     private Object[] composeAdvisors(MdcAdvisor mdcAdvisor, List<LogAdvisor> logAdvisors) {
@@ -16,12 +16,24 @@
 package ru.tinkoff.eclair.aop;
 
 import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.MDC;
+import ru.tinkoff.eclair.definition.OutLog;
 import ru.tinkoff.eclair.definition.method.MethodLog;
 import ru.tinkoff.eclair.logger.EclairLogger;
 
 import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
+ * Logs 'in'-event before the invocation and 'out'- or 'error'-event after it.
+ * Results supported by {@link CompletionHooks} are logged on completion instead of return,
+ * in the completion thread with MDC captured at the moment of return.
+ * Execution duration is measured by single {@link System#nanoTime()} pair if requested by {@link OutLog#isDuration()}.
+ * If {@link OutLog#isSlowOnly()}, the events are logged only for the invocations exceeding the threshold or failed.
+ *
  * @author Vyacheslav Klapatnyuk
  */
 final class LogAdvisor extends AbstractAdvisor<MethodLog> {
@@ -41,18 +53,99 @@ final class LogAdvisor extends AbstractAdvisor<MethodLog> {
     @Override
     public Object invoke(MethodInvocation invocation) throws Throwable {
         MethodLog methodLog = methodDefinitions.get(invocation.getMethod());
-        eclairLogger.logInIfNecessary(invocation, methodLog);
+        if (!isSlowOnly(methodLog)) {
+            eclairLogger.logInIfNecessary(invocation, methodLog);
+        }
+        boolean timed = isDurationRequested(methodLog);
+        long start = timed ? System.nanoTime() : 0L;
         Object result;
         try {
             result = invocation.proceed();
         } catch (Throwable throwable) {
-            eclairLogger.logErrorIfNecessary(invocation, methodLog, throwable);
+            logError(invocation, methodLog, throwable, timed, start);
             throw throwable;
         }
-        eclairLogger.logOutIfNecessary(invocation, methodLog, result);
+        if (nonNull(result) && CompletionHooks.supports(invocation.getMethod().getReturnType(), result)) {
+            Map<String, String> mdc = MDC.getCopyOfContextMap();
+            return CompletionHooks.whenComplete(result,
+                    (value, throwable) -> logCompletion(invocation, methodLog, value, throwable, timed, start, mdc));
+        }
+        logOut(invocation, methodLog, result, timed, start);
         return result;
     }
 
+    /**
+     * The time is measured only if requested by the definition, so other methods do not pay for {@link System#nanoTime()}.
+     */
+    private static boolean isDurationRequested(MethodLog methodLog) {
+        OutLog outLog = methodLog.getOutLog();
+        return nonNull(outLog) && outLog.isDuration();
+    }
+
+    /**
+     * Slow-only definitions defer 'in'-event till the ending, the invocation itself holds everything to log it.
+     */
+    private static boolean isSlowOnly(MethodLog methodLog) {
+        OutLog outLog = methodLog.getOutLog();
+        return nonNull(outLog) && outLog.isSlowOnly();
+    }
+
+    private void logOut(MethodInvocation invocation, MethodLog methodLog, Object result, boolean timed, long start) {
+        if (!timed) {
+            eclairLogger.logOutIfNecessary(invocation, methodLog, result);
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        OutLog outLog = methodLog.getOutLog();
+        if (outLog.isSlowOnly()) {
+            if (duration <= outLog.getSlowThresholdNanos()) {
+                return;
+            }
+            eclairLogger.logInIfNecessary(invocation, methodLog);
+        }
+        eclairLogger.logOutIfNecessary(invocation, methodLog, result, duration);
+    }
+
+    private void logError(MethodInvocation invocation, MethodLog methodLog, Throwable throwable, boolean timed, long start) {
+        if (!timed) {
+            eclairLogger.logErrorIfNecessary(invocation, methodLog, throwable);
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        if (methodLog.getOutLog().isSlowOnly()) {
+            eclairLogger.logInIfNecessary(invocation, methodLog);
+        }
+        eclairLogger.logErrorIfNecessary(invocation, methodLog, throwable, duration);
+    }
+
+    private void logCompletion(MethodInvocation invocation,
+                               MethodLog methodLog,
+                               Object value,
+                               Throwable throwable,
+                               boolean timed,
+                               long start,
+                               Map<String, String> mdc) {
+        Map<String, String> completionMdc = MDC.getCopyOfContextMap();
+        setContextMap(mdc);
+        try {
+            if (isNull(throwable)) {
+                logOut(invocation, methodLog, value, timed, start);
+            } else {
+                logError(invocation, methodLog, throwable, timed, start);
+            }
+        } finally {
+            setContextMap(completionMdc);
+        }
+    }
+
+    private static void setContextMap(Map<String, String> mdc) {
+        if (isNull(mdc)) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+    }
+
     EclairLogger getEclairLogger() {
         return eclairLogger;
     }
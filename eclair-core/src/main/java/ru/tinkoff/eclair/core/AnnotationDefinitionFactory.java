@@ -16,6 +16,7 @@
 package ru.tinkoff.eclair.core;
 
 import ru.tinkoff.eclair.annotation.Log;
+import ru.tinkoff.eclair.annotation.Mdc;
 import ru.tinkoff.eclair.definition.*;
 import ru.tinkoff.eclair.definition.factory.*;
 import ru.tinkoff.eclair.printer.Printer;
@@ -104,12 +105,19 @@ public final class AnnotationDefinitionFactory {
     public Set<ParameterMdc> buildMethodParameterMdcs(Method method) {
         return annotationExtractor.getMdcs(method).stream()
                 .map(ParameterMdcFactory::newInstance)
-                .collect(toSet());
+                .collect(toCollection(LinkedHashSet::new));
     }
 
     public List<Set<ParameterMdc>> buildParameterMdcs(Method method) {
         return annotationExtractor.getParametersMdcs(method).stream()
-                .map(mdcs -> unmodifiableSet(mdcs.stream().map(ParameterMdcFactory::newInstance).collect(toSet())))
+                .map(this::buildParameterMdcs)
                 .collect(toList());
     }
+
+    private Set<ParameterMdc> buildParameterMdcs(Set<Mdc> mdcs) {
+        Set<ParameterMdc> parameterMdcs = mdcs.stream()
+                .map(ParameterMdcFactory::newInstance)
+                .collect(toCollection(LinkedHashSet::new));
+        return unmodifiableSet(parameterMdcs);
+    }
 }
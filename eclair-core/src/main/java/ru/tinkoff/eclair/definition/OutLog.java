@@ -26,16 +26,37 @@ import ru.tinkoff.eclair.printer.Printer;
  */
 public class OutLog implements LogDefinition {
 
+    /**
+     * Threshold value meaning that every invocation is logged regardless of its duration.
+     */
+    public static final long NO_SLOW_THRESHOLD = -1L;
+
     private final LogLevel level;
     private final LogLevel ifEnabledLevel;
     private final LogLevel verboseLevel;
     private final Printer printer;
+    private final boolean duration;
+    private final long slowThresholdNanos;
 
     public OutLog(LogLevel level, LogLevel ifEnabledLevel, LogLevel verboseLevel, Printer printer) {
+        this(level, ifEnabledLevel, verboseLevel, printer, false);
+    }
+
+    public OutLog(LogLevel level, LogLevel ifEnabledLevel, LogLevel verboseLevel, Printer printer, boolean duration) {
+        this(level, ifEnabledLevel, verboseLevel, printer, duration, NO_SLOW_THRESHOLD);
+    }
+
+    /**
+     * @param slowThresholdNanos non-negative value enables logging of slow invocations only, implies {@code duration}
+     */
+    public OutLog(LogLevel level, LogLevel ifEnabledLevel, LogLevel verboseLevel, Printer printer, boolean duration,
+                  long slowThresholdNanos) {
         this.level = level;
         this.ifEnabledLevel = ifEnabledLevel;
         this.verboseLevel = verboseLevel;
         this.printer = printer;
+        this.duration = duration || slowThresholdNanos >= 0;
+        this.slowThresholdNanos = slowThresholdNanos < 0 ? NO_SLOW_THRESHOLD : slowThresholdNanos;
     }
 
     @Override
@@ -56,4 +77,16 @@ public class OutLog implements LogDefinition {
     public Printer getPrinter() {
         return printer;
     }
+
+    public boolean isDuration() {
+        return duration;
+    }
+
+    public long getSlowThresholdNanos() {
+        return slowThresholdNanos;
+    }
+
+    public boolean isSlowOnly() {
+        return slowThresholdNanos != NO_SLOW_THRESHOLD;
+    }
 }
@@ -20,6 +20,8 @@ import ru.tinkoff.eclair.core.AnnotationAttribute;
 import ru.tinkoff.eclair.definition.OutLog;
 import ru.tinkoff.eclair.printer.Printer;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * @author Vyacheslav Klapatnyuk
  */
@@ -30,7 +32,9 @@ public class OutLogFactory {
                 AnnotationAttribute.LEVEL.extract(logOut),
                 logOut.ifEnabled(),
                 logOut.verbose(),
-                printer
+                printer,
+                logOut.duration(),
+                logOut.slowerThan() < 0 ? OutLog.NO_SLOW_THRESHOLD : TimeUnit.MILLISECONDS.toNanos(logOut.slowerThan())
         );
     }
 }
@@ -54,6 +54,7 @@ public class MethodLog implements MethodDefinition {
     private final Map<Class<? extends Throwable>, ErrorLog> errorLogCache = new ConcurrentHashMap<>();
 
     private final Method method;
+    private final String loggerName;
     private final List<String> parameterNames;
     private final InLog inLog;
     private final List<ParameterLog> parameterLogs;
@@ -61,12 +62,14 @@ public class MethodLog implements MethodDefinition {
     private final Set<ErrorLog> errorLogs;
 
     public MethodLog(Method method,
+                     String loggerName,
                      List<String> parameterNames,
                      InLog inLog,
                      List<ParameterLog> parameterLogs,
                      OutLog outLog,
                      Set<ErrorLog> errorLogs) {
         this.method = method;
+        this.loggerName = loggerName;
         this.parameterNames = unmodifiableList(parameterNames);
         this.inLog = inLog;
         this.parameterLogs = unmodifiableList(parameterLogs);
@@ -79,6 +82,13 @@ public class MethodLog implements MethodDefinition {
         return method;
     }
 
+    /**
+     * Logger name resolved once by {@link ru.tinkoff.eclair.logger.EclairLogger#getLoggerName(Method)}.
+     */
+    public String getLoggerName() {
+        return loggerName;
+    }
+
     public List<String> getParameterNames() {
         return parameterNames;
     }
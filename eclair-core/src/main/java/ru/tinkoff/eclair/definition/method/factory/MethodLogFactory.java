@@ -39,6 +39,7 @@ public class MethodLogFactory {
      * @return Instantiated {@link InLog} or {@code null}
      */
     public static MethodLog newInstance(Method method,
+                                        String loggerName,
                                         List<String> parameterNames,
                                         InLog inLog,
                                         List<ParameterLog> parameterLogs,
@@ -47,6 +48,6 @@ public class MethodLogFactory {
         if (isNull(inLog) && parameterLogs.stream().allMatch(Objects::isNull) && isNull(outLog) && errorLogs.isEmpty()) {
             return null;
         }
-        return new MethodLog(method, parameterNames, inLog, parameterLogs, outLog, errorLogs);
+        return new MethodLog(method, loggerName, parameterNames, inLog, parameterLogs, outLog, errorLogs);
     }
 }
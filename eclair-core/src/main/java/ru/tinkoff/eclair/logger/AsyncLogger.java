@@ -0,0 +1,599 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.MDC;
+import org.springframework.boot.logging.LogLevel;
+import ru.tinkoff.eclair.definition.ErrorLog;
+import ru.tinkoff.eclair.definition.InLog;
+import ru.tinkoff.eclair.definition.OutLog;
+import ru.tinkoff.eclair.definition.ParameterLog;
+import ru.tinkoff.eclair.definition.method.MethodLog;
+import ru.tinkoff.eclair.logger.facade.LoggerFacade;
+import ru.tinkoff.eclair.printer.Printer;
+import ru.tinkoff.eclair.printer.snapshot.ReferenceSnapshotStrategy;
+import ru.tinkoff.eclair.printer.snapshot.SnapshotStrategy;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.springframework.boot.logging.LogLevel.OFF;
+
+/**
+ * Asynchronous decorator of {@link SimpleLogger} moving printing and logging facade calls off the invoking thread.
+ * The invoking thread only decides whether the event should be logged and captures the method, snapshots of printable
+ * arguments or result, throwable and the copy of MDC into the preallocated slot of the lock-free ring buffer.
+ * Worker threads log the captured events by {@link SimpleLogger} with the captured MDC,
+ * the invocation is passed to it as immutable copy, which could not {@link MethodInvocation#proceed()}.
+ * Idle workers spin and yield for a while, then park until the next event is published.
+ * Behavior on full buffer is defined by {@link OverflowPolicy}, after {@link #close()} events are logged synchronously.
+ * Events failed by workers are counted as dropped.
+ * Snapshots are taken by {@link Printer#getSnapshotStrategy()} of the value's printer or by the logger's default strategy.
+ * Note: the default {@link ReferenceSnapshotStrategy} keeps references, so mutable arguments are printed in the state
+ * at the moment of logging by worker, not of the invocation;
+ * timestamps of the events are assigned by the logging system on worker threads too;
+ * the order of events processed by different workers is not guaranteed, so single worker is recommended.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public class AsyncLogger extends LevelSensitiveLogger implements ManualLogger, AutoCloseable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+    public static final int DEFAULT_WORKER_COUNT = 1;
+
+    private static final int IDLE_SPINS = 100;
+    private static final int IDLE_YIELDS = 200;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long CLOSE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final SimpleLogger logger;
+    private final OverflowPolicy overflowPolicy;
+    private final RingBuffer<Event> buffer;
+    private final Thread[] workers;
+
+    private final AtomicInteger parkedWorkerCount = new AtomicInteger();
+    private final LongAdder droppedEventCount = new LongAdder();
+    private final LongAdder verboseDroppedEventCount = new LongAdder();
+
+    private SnapshotStrategy snapshotStrategy = ReferenceSnapshotStrategy.getInstance();
+
+    private volatile boolean closed;
+
+    public AsyncLogger(SimpleLogger logger) {
+        this(logger, DEFAULT_BUFFER_SIZE, DEFAULT_WORKER_COUNT, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * @param bufferSize  count of events waiting for workers, rounded up to the power of two
+     * @param workerCount count of threads logging the events
+     */
+    public AsyncLogger(SimpleLogger logger, int bufferSize, int workerCount, OverflowPolicy overflowPolicy) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Worker count should be positive: " + workerCount);
+        }
+        this.logger = logger;
+        this.overflowPolicy = overflowPolicy;
+        this.buffer = new RingBuffer<>(bufferSize, Event::new);
+        this.workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::work, "eclair-async-logger-" + i);
+            worker.setDaemon(true);
+            workers[i] = worker;
+            worker.start();
+        }
+    }
+
+    @Override
+    public String getLoggerName(Method method) {
+        return logger.getLoggerName(method);
+    }
+
+    @Override
+    protected boolean isLogEnabled(String loggerName, LogLevel level) {
+        return logger.isLogEnabled(loggerName, level);
+    }
+
+    /**
+     * Manual logging is performed synchronously.
+     */
+    @Override
+    public boolean isLogEnabled(LogLevel level) {
+        return logger.isLogEnabled(level);
+    }
+
+    /**
+     * Manual logging is performed synchronously.
+     */
+    @Override
+    public void log(LogLevel level, LogLevel ifEnabledLevel, String format, Object... arguments) {
+        logger.log(level, ifEnabledLevel, format, arguments);
+    }
+
+    @Override
+    protected void logIn(MethodInvocation invocation, MethodLog methodLog) {
+        enqueue(EventType.IN, invocation, methodLog, null, null, NO_DURATION);
+    }
+
+    @Override
+    protected void logOut(MethodInvocation invocation, MethodLog methodLog, Object result) {
+        logOut(invocation, methodLog, result, NO_DURATION);
+    }
+
+    @Override
+    protected void logOut(MethodInvocation invocation, MethodLog methodLog, Object result, long durationNanos) {
+        enqueue(EventType.OUT, invocation, methodLog, result, null, durationNanos);
+    }
+
+    @Override
+    protected void logError(MethodInvocation invocation, MethodLog methodLog, Throwable throwable) {
+        logError(invocation, methodLog, throwable, NO_DURATION);
+    }
+
+    @Override
+    protected void logError(MethodInvocation invocation, MethodLog methodLog, Throwable throwable, long durationNanos) {
+        enqueue(EventType.ERROR, invocation, methodLog, null, throwable, durationNanos);
+    }
+
+    /**
+     * Defines how to capture the values printed by printers without their own {@link SnapshotStrategy}.
+     * Note: should be set before logging.
+     */
+    public AsyncLogger setSnapshotStrategy(SnapshotStrategy snapshotStrategy) {
+        this.snapshotStrategy = snapshotStrategy;
+        return this;
+    }
+
+    public SnapshotStrategy getSnapshotStrategy() {
+        return snapshotStrategy;
+    }
+
+    /**
+     * @return count of events dropped because of full buffer by {@link OverflowPolicy#DROP} or failed by workers
+     */
+    public long getDroppedEventCount() {
+        return droppedEventCount.sum();
+    }
+
+    /**
+     * @return count of events logged without verbose parts because of full buffer by {@link OverflowPolicy#DROP_VERBOSE}
+     */
+    public long getVerboseDroppedEventCount() {
+        return verboseDroppedEventCount.sum();
+    }
+
+    /**
+     * Stops accepting events, waits for workers to log the buffered ones, then logs the events left up to the last
+     * claimed position, e.g. the ones being enqueued concurrently.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        long deadline = System.currentTimeMillis() + CLOSE_TIMEOUT_MILLIS;
+        for (Thread worker : workers) {
+            LockSupport.unpark(worker);
+            worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+        }
+        drain(deadline);
+    }
+
+    private void enqueue(EventType type, MethodInvocation invocation, MethodLog methodLog, Object result, Throwable throwable,
+                         long durationNanos) {
+        if (closed || !tryEnqueue(type, invocation, methodLog, result, throwable, durationNanos)) {
+            dispatch(type, invocation, methodLog, result, throwable, durationNanos);
+        }
+    }
+
+    /**
+     * @return {@code false} if the event should be logged synchronously because the logger was closed while waiting
+     * or no worker is alive
+     */
+    private boolean tryEnqueue(EventType type, MethodInvocation invocation, MethodLog methodLog, Object result,
+                               Throwable throwable, long durationNanos) {
+        long position = buffer.tryClaim();
+        if (position == RingBuffer.UNAVAILABLE) {
+            switch (overflowPolicy) {
+                case DROP:
+                    droppedEventCount.increment();
+                    return true;
+                case DROP_VERBOSE:
+                    verboseDroppedEventCount.increment();
+                    logBriefly(type, methodLog, throwable);
+                    return true;
+                default:
+                    position = claimBlocking();
+                    if (position == RingBuffer.UNAVAILABLE) {
+                        return false;
+                    }
+            }
+        }
+        Event event = buffer.get(position);
+        try {
+            Object[] arguments = type == EventType.IN ? captureArguments(invocation, methodLog) : NO_ARGUMENTS;
+            event.invocation = new CapturedInvocation(invocation.getMethod(), arguments, invocation.getThis());
+            event.result = type == EventType.OUT ? captureResult(methodLog, result) : null;
+            event.type = type;
+            event.methodLog = methodLog;
+            event.throwable = throwable;
+            event.durationNanos = durationNanos;
+            event.mdc = MDC.getCopyOfContextMap();
+        } finally {
+            // the claimed slot is published anyway, workers skip the event without type
+            buffer.publish(position);
+            if (parkedWorkerCount.get() > 0) {
+                unparkWorkers();
+            }
+        }
+        if (closed) {
+            // workers could have finished before the position was claimed
+            drain(System.currentTimeMillis() + CLOSE_TIMEOUT_MILLIS);
+        }
+        return true;
+    }
+
+    /**
+     * Logs the events left in the buffer on the current thread keeping its MDC.
+     * Note: waits for the claimed positions to be published till the deadline.
+     */
+    private void drain(long deadline) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        try {
+            int idleCount = 0;
+            while (!buffer.isEmpty() && System.currentTimeMillis() < deadline) {
+                long position = buffer.tryTake();
+                if (position == RingBuffer.UNAVAILABLE) {
+                    idleCount = idle(idleCount);
+                    continue;
+                }
+                idleCount = 0;
+                consume(position);
+            }
+        } finally {
+            if (isNull(mdc)) {
+                MDC.clear();
+            } else {
+                MDC.setContextMap(mdc);
+            }
+        }
+    }
+
+    private void unparkWorkers() {
+        for (Thread worker : workers) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * Copies the arguments replacing those which will be printed by their snapshots.
+     * Note: 'out'- and 'error'-events do not print arguments, so they are not captured at all.
+     */
+    private Object[] captureArguments(MethodInvocation invocation, MethodLog methodLog) {
+        Object[] arguments = invocation.getArguments().clone();
+        String loggerName = methodLog.getLoggerName();
+        InLog inLog = methodLog.getInLog();
+        boolean isInLogVerboseLogEnabled = nonNull(inLog) && inLog.getLevel() != OFF &&
+                isLogEnabled(loggerName, expectedLevelResolver.apply(inLog)) && isLogEnabled(loggerName, inLog.getVerboseLevel());
+        List<ParameterLog> parameterLogs = methodLog.getParameterLogs();
+        for (int a = 0; a < arguments.length; a++) {
+            Object argument = arguments[a];
+            if (isNull(argument)) {
+                continue;
+            }
+            ParameterLog parameterLog = parameterLogs.get(a);
+            Printer printer;
+            if (nonNull(parameterLog)) {
+                if (parameterLog.getLevel() == OFF || !isLogEnabled(loggerName, expectedLevelResolver.apply(parameterLog))) {
+                    continue;
+                }
+                printer = parameterLog.getPrinter();
+            } else if (isInLogVerboseLogEnabled) {
+                printer = inLog.getPrinters().get(a);
+            } else {
+                continue;
+            }
+            arguments[a] = snapshot(printer, argument);
+        }
+        return arguments;
+    }
+
+    private Object captureResult(MethodLog methodLog, Object result) {
+        OutLog outLog = methodLog.getOutLog();
+        if (isNull(result) || isNull(outLog) || !isLogEnabled(methodLog.getLoggerName(), outLog.getVerboseLevel())) {
+            return result;
+        }
+        return snapshot(outLog.getPrinter(), result);
+    }
+
+    private Object snapshot(Printer printer, Object value) {
+        return printer.snapshot(value, snapshotStrategy);
+    }
+
+    /**
+     * @return claimed position or {@link RingBuffer#UNAVAILABLE} if the logger was closed while waiting
+     * or there is no alive worker to free the slot
+     */
+    private long claimBlocking() {
+        int idleCount = 0;
+        while (!closed && isAnyWorkerAlive()) {
+            long position = buffer.tryClaim();
+            if (position != RingBuffer.UNAVAILABLE) {
+                return position;
+            }
+            idleCount = idle(idleCount);
+        }
+        return RingBuffer.UNAVAILABLE;
+    }
+
+    private void work() {
+        int idleCount = 0;
+        while (!closed || !buffer.isEmpty()) {
+            long position = buffer.tryTake();
+            if (position == RingBuffer.UNAVAILABLE) {
+                if (idleCount < IDLE_YIELDS || !park()) {
+                    idleCount = idle(idleCount);
+                }
+                continue;
+            }
+            idleCount = 0;
+            consume(position);
+        }
+    }
+
+    /**
+     * Failed events are counted as dropped, so the worker survives e.g. {@link StackOverflowError} of printing.
+     * Other {@link VirtualMachineError}s are rethrown after the slot is released and stop the worker,
+     * then producers log synchronously as soon as the buffer is full.
+     */
+    private void consume(long position) {
+        Event event = buffer.get(position);
+        try {
+            process(event);
+        } catch (Throwable throwable) {
+            droppedEventCount.increment();
+            if (throwable instanceof VirtualMachineError && !(throwable instanceof StackOverflowError)) {
+                throw throwable;
+            }
+        } finally {
+            event.clear();
+            buffer.release(position);
+        }
+    }
+
+    private boolean isAnyWorkerAlive() {
+        for (Thread worker : workers) {
+            if (worker.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parks the worker until the event is published or the logger is closed.
+     * The worker is counted as parked before the final emptiness check and producers check the count after publishing,
+     * so either the worker sees the claimed position or the producer unparks it.
+     *
+     * @return {@code false} if the worker did not park, e.g. the position is claimed but not published yet
+     */
+    private boolean park() {
+        if (closed) {
+            return false;
+        }
+        parkedWorkerCount.incrementAndGet();
+        try {
+            if (!closed && buffer.isEmpty()) {
+                LockSupport.park(this);
+                return true;
+            }
+            return false;
+        } finally {
+            parkedWorkerCount.decrementAndGet();
+        }
+    }
+
+    private static int idle(int idleCount) {
+        if (idleCount < IDLE_SPINS) {
+            return idleCount + 1;
+        }
+        if (idleCount < IDLE_YIELDS) {
+            Thread.yield();
+            return idleCount + 1;
+        }
+        LockSupport.parkNanos(IDLE_PARK_NANOS);
+        return idleCount;
+    }
+
+    private void process(Event event) {
+        if (isNull(event.type)) {
+            return;
+        }
+        if (isNull(event.mdc)) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(event.mdc);
+        }
+        try {
+            dispatch(event.type, event.invocation, event.methodLog, event.result, event.throwable, event.durationNanos);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private void dispatch(EventType type, MethodInvocation invocation, MethodLog methodLog, Object result, Throwable throwable,
+                          long durationNanos) {
+        switch (type) {
+            case IN:
+                logger.logIn(invocation, methodLog);
+                break;
+            case OUT:
+                logger.logOut(invocation, methodLog, result, durationNanos);
+                break;
+            default:
+                logger.logError(invocation, methodLog, throwable, durationNanos);
+        }
+    }
+
+    /**
+     * Logs event token without printing arguments and result on the invoking thread.
+     */
+    private void logBriefly(EventType type, MethodLog methodLog, Throwable throwable) {
+        String loggerName = methodLog.getLoggerName();
+        LoggerFacade loggerFacade = logger.getLoggerFacadeFactory().getLoggerFacade(loggerName);
+        switch (type) {
+            case IN:
+                LogLevel level = resolveInLevel(loggerName, methodLog);
+                if (nonNull(level)) {
+                    loggerFacade.log(level, SimpleLogger.IN);
+                }
+                break;
+            case OUT:
+                if (isOutLogEnabled(loggerName, methodLog)) {
+                    loggerFacade.log(methodLog.getOutLog().getLevel(), SimpleLogger.OUT);
+                }
+                break;
+            default:
+                ErrorLog errorLog = methodLog.findErrorLog(throwable.getClass());
+                if (nonNull(errorLog)) {
+                    if (isLogEnabled(loggerName, expectedLevelResolver.apply(errorLog))) {
+                        loggerFacade.log(errorLog.getLevel(), SimpleLogger.ERROR, throwable);
+                    }
+                } else if (isOutLogEnabled(loggerName, methodLog)) {
+                    loggerFacade.log(methodLog.getOutLog().getLevel(), SimpleLogger.ERROR);
+                }
+        }
+    }
+
+    private boolean isOutLogEnabled(String loggerName, MethodLog methodLog) {
+        OutLog outLog = methodLog.getOutLog();
+        return nonNull(outLog) && isLogEnabled(loggerName, expectedLevelResolver.apply(outLog));
+    }
+
+    private LogLevel resolveInLevel(String loggerName, MethodLog methodLog) {
+        InLog inLog = methodLog.getInLog();
+        if (nonNull(inLog) && inLog.getLevel() != OFF && isLogEnabled(loggerName, expectedLevelResolver.apply(inLog))) {
+            return inLog.getLevel();
+        }
+        LogLevel level = null;
+        for (ParameterLog parameterLog : methodLog.getParameterLogs()) {
+            if (nonNull(parameterLog) && parameterLog.getLevel() != OFF &&
+                    isLogEnabled(loggerName, expectedLevelResolver.apply(parameterLog)) &&
+                    (isNull(level) || parameterLog.getLevel().ordinal() > level.ordinal())) {
+                level = parameterLog.getLevel();
+            }
+        }
+        return level;
+    }
+
+    /**
+     * Behavior of invoking thread if the buffer is full.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Wait for the free slot.
+         */
+        BLOCK,
+
+        /**
+         * Log the event token (and throwable of 'error'-event) synchronously, without printing arguments and result.
+         */
+        DROP_VERBOSE,
+
+        /**
+         * Skip the event.
+         */
+        DROP
+    }
+
+    private enum EventType {
+        IN, OUT, ERROR
+    }
+
+    /**
+     * Preallocated event slot.
+     */
+    private static final class Event {
+
+        private EventType type;
+        private MethodInvocation invocation;
+        private MethodLog methodLog;
+        private Object result;
+        private Throwable throwable;
+        private long durationNanos;
+        private Map<String, String> mdc;
+
+        private void clear() {
+            type = null;
+            invocation = null;
+            methodLog = null;
+            result = null;
+            throwable = null;
+            durationNanos = NO_DURATION;
+            mdc = null;
+        }
+    }
+
+    /**
+     * Invocation passed to {@link SimpleLogger} on worker threads, keeps the target and the captured arguments.
+     * Note: the method has already proceeded on the invoking thread, so {@link #proceed()} is not supported.
+     */
+    private static final class CapturedInvocation implements MethodInvocation {
+
+        private final Method method;
+        private final Object[] arguments;
+        private final Object target;
+
+        private CapturedInvocation(Method method, Object[] arguments, Object target) {
+            this.method = method;
+            this.arguments = arguments;
+            this.target = target;
+        }
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return arguments;
+        }
+
+        @Override
+        public Object proceed() {
+            throw new UnsupportedOperationException("Method has already proceeded on the invoking thread");
+        }
+
+        @Override
+        public Object getThis() {
+            return target;
+        }
+
+        @Override
+        public AccessibleObject getStaticPart() {
+            return method;
+        }
+    }
+}
@@ -16,8 +16,10 @@
 package ru.tinkoff.eclair.logger;
 
 import org.aopalliance.intercept.MethodInvocation;
+import ru.tinkoff.eclair.core.LoggerNameBuilder;
 import ru.tinkoff.eclair.definition.method.MethodLog;
 
+import java.lang.reflect.Method;
 import java.util.Objects;
 
 import static java.util.Objects.nonNull;
@@ -32,12 +34,21 @@ import static java.util.Objects.nonNull;
 public abstract class EclairLogger {
 
     /**
-     * Prepares logger name according to method invocation.
+     * Duration value meaning that the execution time was not measured.
+     */
+    public static final long NO_DURATION = -1L;
+
+    /**
+     * Prepares logger name according to loggable method.
+     * Invoked once per method while building its {@link MethodLog}, the result is available by {@link MethodLog#getLoggerName()}.
+     * Note: Could be overridden to change the logger naming strategy.
      *
-     * @param invocation current loggable method invocation
+     * @param method loggable method
      * @return logger name
      */
-    protected abstract String getLoggerName(MethodInvocation invocation);
+    public String getLoggerName(Method method) {
+        return LoggerNameBuilder.getInstance().build(method);
+    }
 
     /**
      * Performs the logging of 'in'-event (beginning of method execution) if necessary.
@@ -105,6 +116,33 @@ public abstract class EclairLogger {
      */
     protected abstract void logOut(MethodInvocation invocation, MethodLog methodLog, Object result);
 
+    /**
+     * Performs the logging of 'out'-event (ending of method execution) with measured execution duration if necessary.
+     *
+     * @param invocation    current loggable method invocation
+     * @param methodLog     definition of invoked method logging
+     * @param result        result of the loggable method invocation
+     * @param durationNanos execution duration in nanoseconds or {@link #NO_DURATION}
+     */
+    public void logOutIfNecessary(MethodInvocation invocation, MethodLog methodLog, Object result, long durationNanos) {
+        if (isLogOutNecessary(invocation, methodLog)) {
+            logOut(invocation, methodLog, result, durationNanos);
+        }
+    }
+
+    /**
+     * Performs the logging of 'out'-event with measured execution duration.
+     * Note: Could be overridden to log the duration, by default it is ignored.
+     *
+     * @param invocation    current loggable method invocation
+     * @param methodLog     definition of invoked method logging
+     * @param result        result of the loggable method invocation
+     * @param durationNanos execution duration in nanoseconds or {@link #NO_DURATION}
+     */
+    protected void logOut(MethodInvocation invocation, MethodLog methodLog, Object result, long durationNanos) {
+        logOut(invocation, methodLog, result);
+    }
+
     /**
      * Performs the logging of 'error'-event (emergency ending of method execution) if necessary.
      *
@@ -139,4 +177,31 @@ public abstract class EclairLogger {
      * @param throwable  thrown during the loggable method execution
      */
     protected abstract void logError(MethodInvocation invocation, MethodLog methodLog, Throwable throwable);
+
+    /**
+     * Performs the logging of 'error'-event (emergency ending of method execution) with measured execution duration if necessary.
+     *
+     * @param invocation    current loggable method invocation
+     * @param methodLog     definition of invoked method logging
+     * @param throwable     thrown during the loggable method execution
+     * @param durationNanos execution duration in nanoseconds or {@link #NO_DURATION}
+     */
+    public void logErrorIfNecessary(MethodInvocation invocation, MethodLog methodLog, Throwable throwable, long durationNanos) {
+        if (isLogErrorNecessary(invocation, methodLog, throwable) || isLogOutNecessary(invocation, methodLog)) {
+            logError(invocation, methodLog, throwable, durationNanos);
+        }
+    }
+
+    /**
+     * Performs the logging of 'error'-event with measured execution duration.
+     * Note: Could be overridden to log the duration, by default it is ignored.
+     *
+     * @param invocation    current loggable method invocation
+     * @param methodLog     definition of invoked method logging
+     * @param throwable     thrown during the loggable method execution
+     * @param durationNanos execution duration in nanoseconds or {@link #NO_DURATION}
+     */
+    protected void logError(MethodInvocation invocation, MethodLog methodLog, Throwable throwable, long durationNanos) {
+        logError(invocation, methodLog, throwable);
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger;
+
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Caches effective log levels of {@link LoggingSystem} by logger name.
+ * Caching is enabled only if the logging system is able to notify about level changes, otherwise every call is delegated.
+ * Note: the whole cache is dropped on any level change, so the next checks load actual values again;
+ * names beyond {@link #maxSize} are not cached like in {@link ru.tinkoff.eclair.logger.facade.CachingLoggerFacadeFactory}.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+final class EffectiveLevelCache {
+
+    private static final String LOGBACK_CONTEXT_CLASS_NAME = "ch.qos.logback.classic.LoggerContext";
+
+    static final int DEFAULT_MAX_SIZE = 4096;
+
+    private final LoggingSystem loggingSystem;
+    private final boolean enabled;
+    private final int maxSize;
+
+    /**
+     * Replaced entirely on invalidation: late puts of values loaded before the change get into the discarded instance.
+     */
+    private volatile Levels levels = new Levels();
+
+    private EffectiveLevelCache(LoggingSystem loggingSystem, boolean enabled, int maxSize) {
+        this.loggingSystem = loggingSystem;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+    }
+
+    static EffectiveLevelCache newInstance(LoggingSystem loggingSystem) {
+        return newInstance(loggingSystem, DEFAULT_MAX_SIZE);
+    }
+
+    static EffectiveLevelCache newInstance(LoggingSystem loggingSystem, int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("'maxSize' should not be negative: " + maxSize);
+        }
+        EffectiveLevelCache cache = new EffectiveLevelCache(loggingSystem, isInvalidationSupported(loggingSystem), maxSize);
+        if (cache.enabled) {
+            LogbackLevelChangeListener.register(cache);
+        }
+        return cache;
+    }
+
+    private static boolean isInvalidationSupported(LoggingSystem loggingSystem) {
+        ClassLoader classLoader = EffectiveLevelCache.class.getClassLoader();
+        return ClassUtils.isPresent(LOGBACK_CONTEXT_CLASS_NAME, classLoader) && LogbackLevelChangeListener.supports(loggingSystem);
+    }
+
+    LogLevel get(String loggerName) {
+        if (!enabled) {
+            return load(loggerName);
+        }
+        Levels levels = this.levels;
+        LogLevel level = levels.values.get(loggerName);
+        if (isNull(level)) {
+            level = load(loggerName);
+            levels.putIfWithin(loggerName, level, maxSize);
+        }
+        return level;
+    }
+
+    private LogLevel load(String loggerName) {
+        return loggingSystem.getLoggerConfiguration(loggerName).getEffectiveLevel();
+    }
+
+    void invalidate() {
+        levels = new Levels();
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    int size() {
+        return levels.size.get();
+    }
+
+    /**
+     * Size is reserved before insertion, so concurrent loads never exceed the bound.
+     */
+    private static final class Levels {
+
+        private final Map<String, LogLevel> values = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private void putIfWithin(String loggerName, LogLevel level, int maxSize) {
+            int reserved;
+            do {
+                reserved = size.get();
+                if (reserved >= maxSize) {
+                    return;
+                }
+            } while (!size.compareAndSet(reserved, reserved + 1));
+            if (nonNull(values.putIfAbsent(loggerName, level))) {
+                size.decrementAndGet();
+            }
+        }
+    }
+}
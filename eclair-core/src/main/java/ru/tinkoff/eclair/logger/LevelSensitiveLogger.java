@@ -56,7 +56,7 @@ public abstract class LevelSensitiveLogger extends EclairLogger {
      */
     @Override
     protected boolean isLogInNecessary(MethodInvocation invocation, MethodLog methodLog) {
-        String loggerName = getLoggerName(invocation);
+        String loggerName = methodLog.getLoggerName();
         if (nonNull(methodLog.getInLog())) {
             if (isLogEnabled(loggerName, expectedLevelResolver.apply(methodLog.getInLog()))) {
                 return true;
@@ -78,7 +78,7 @@ public abstract class LevelSensitiveLogger extends EclairLogger {
     @Override
     protected boolean isLogOutNecessary(MethodInvocation invocation, MethodLog methodLog) {
         return super.isLogOutNecessary(invocation, methodLog) &&
-                isLogEnabled(getLoggerName(invocation), expectedLevelResolver.apply(methodLog.getOutLog()));
+                isLogEnabled(methodLog.getLoggerName(), expectedLevelResolver.apply(methodLog.getOutLog()));
     }
 
     /**
@@ -94,6 +94,6 @@ public abstract class LevelSensitiveLogger extends EclairLogger {
     @Override
     protected boolean isLogErrorNecessary(MethodInvocation invocation, MethodLog methodLog, Throwable throwable) {
         ErrorLog errorLog = methodLog.findErrorLog(throwable.getClass());
-        return nonNull(errorLog) && isLogEnabled(getLoggerName(invocation), expectedLevelResolver.apply(errorLog));
+        return nonNull(errorLog) && isLogEnabled(methodLog.getLoggerName(), expectedLevelResolver.apply(errorLog));
     }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.logging.logback.LogbackLoggingSystem;
+
+import java.lang.ref.WeakReference;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Invalidates {@link EffectiveLevelCache} on every level change within Logback {@link LoggerContext}.
+ * Catches changes made by any {@link LoggingSystem} instance, Spring Boot Actuator 'loggers' endpoint
+ * or Logback configuration reloading.
+ * Refers to the cache weakly, so the listener does not keep discarded loggers, stale listeners are removed on registration.
+ * Note: should be loaded only if Logback is available on the classpath.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+final class LogbackLevelChangeListener implements LoggerContextListener {
+
+    private final WeakReference<EffectiveLevelCache> cacheReference;
+
+    private LogbackLevelChangeListener(EffectiveLevelCache cache) {
+        this.cacheReference = new WeakReference<>(cache);
+    }
+
+    static boolean supports(LoggingSystem loggingSystem) {
+        return loggingSystem instanceof LogbackLoggingSystem && LoggerFactory.getILoggerFactory() instanceof LoggerContext;
+    }
+
+    static LogbackLevelChangeListener register(EffectiveLevelCache cache) {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        for (LoggerContextListener listener : loggerContext.getCopyOfListenerList()) {
+            if (listener instanceof LogbackLevelChangeListener && ((LogbackLevelChangeListener) listener).isStale()) {
+                loggerContext.removeListener(listener);
+            }
+        }
+        LogbackLevelChangeListener listener = new LogbackLevelChangeListener(cache);
+        loggerContext.addListener(listener);
+        return listener;
+    }
+
+    boolean isStale() {
+        return isNull(cacheReference.get());
+    }
+
+    private void invalidateCache() {
+        EffectiveLevelCache cache = cacheReference.get();
+        if (nonNull(cache)) {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public boolean isResetResistant() {
+        return true;
+    }
+
+    @Override
+    public void onStart(LoggerContext context) {
+        invalidateCache();
+    }
+
+    @Override
+    public void onReset(LoggerContext context) {
+        invalidateCache();
+    }
+
+    @Override
+    public void onStop(LoggerContext context) {
+        invalidateCache();
+    }
+
+    @Override
+    public void onLevelChange(Logger logger, Level level) {
+        invalidateCache();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger;
+
+/**
+ * Keeps single reusable {@link StringBuilder} per thread for building of log messages.
+ * Note: reentrant acquisitions (e.g. by loggable methods invoked from printers) get new instances,
+ * builders grown beyond {@link #MAX_CAPACITY} are not retained.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+final class MessageBuilderCache {
+
+    static final int INITIAL_CAPACITY = 256;
+    static final int MAX_CAPACITY = 8192;
+
+    private final ThreadLocal<Holder> holders = ThreadLocal.withInitial(Holder::new);
+
+    /**
+     * @return empty builder that should be passed to {@link #release(StringBuilder)} after use
+     */
+    StringBuilder acquire() {
+        Holder holder = holders.get();
+        if (holder.inUse) {
+            return new StringBuilder(INITIAL_CAPACITY);
+        }
+        holder.inUse = true;
+        StringBuilder builder = holder.builder;
+        builder.setLength(0);
+        return builder;
+    }
+
+    void release(StringBuilder builder) {
+        Holder holder = holders.get();
+        if (holder.builder != builder) {
+            return;
+        }
+        if (builder.capacity() > MAX_CAPACITY) {
+            holder.builder = new StringBuilder(INITIAL_CAPACITY);
+        }
+        holder.inUse = false;
+    }
+
+    private static class Holder {
+
+        private StringBuilder builder = new StringBuilder(INITIAL_CAPACITY);
+        private boolean inUse;
+    }
+}
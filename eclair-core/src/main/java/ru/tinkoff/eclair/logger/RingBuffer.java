@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Bounded lock-free multi-producer multi-consumer ring of preallocated slots.
+ * Every slot has its own sequence number telling whether it is free for the producer of the current lap
+ * or published for the consumer, so producers and consumers contend only on their own position counter.
+ * Usage: the claimed position is used to access the slot, then passed to {@link #publish(long)} by the producer
+ * or {@link #release(long)} by the consumer.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+final class RingBuffer<E> {
+
+    static final long UNAVAILABLE = -1;
+
+    private final int mask;
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong producerPosition = new AtomicLong();
+    private final AtomicLong consumerPosition = new AtomicLong();
+
+    /**
+     * @param capacity rounded up to the power of two, at least {@code 2} to distinguish free slots from published ones
+     */
+    RingBuffer(int capacity, Supplier<E> slotFactory) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity should be positive: " + capacity);
+        }
+        int size = Math.max(2, Integer.highestOneBit(capacity));
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.slots = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = slotFactory.get();
+            sequences.set(i, i);
+        }
+    }
+
+    int getCapacity() {
+        return slots.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    E get(long position) {
+        return (E) slots[(int) position & mask];
+    }
+
+    /**
+     * @return position of the slot to fill or {@link #UNAVAILABLE} if the ring is full
+     */
+    long tryClaim() {
+        long position = producerPosition.get();
+        for (; ; ) {
+            long difference = sequences.get((int) position & mask) - position;
+            if (difference == 0) {
+                if (producerPosition.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = producerPosition.get();
+            } else if (difference < 0) {
+                return UNAVAILABLE;
+            } else {
+                position = producerPosition.get();
+            }
+        }
+    }
+
+    void publish(long position) {
+        sequences.lazySet((int) position & mask, position + 1);
+    }
+
+    /**
+     * @return position of the published slot to consume or {@link #UNAVAILABLE} if the ring is empty
+     */
+    long tryTake() {
+        long position = consumerPosition.get();
+        for (; ; ) {
+            long difference = sequences.get((int) position & mask) - (position + 1);
+            if (difference == 0) {
+                if (consumerPosition.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = consumerPosition.get();
+            } else if (difference < 0) {
+                return UNAVAILABLE;
+            } else {
+                position = consumerPosition.get();
+            }
+        }
+    }
+
+    void release(long position) {
+        sequences.lazySet((int) position & mask, position + slots.length);
+    }
+
+    boolean isEmpty() {
+        return consumerPosition.get() >= producerPosition.get();
+    }
+}
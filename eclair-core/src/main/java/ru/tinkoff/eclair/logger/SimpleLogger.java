@@ -24,6 +24,9 @@ import ru.tinkoff.eclair.definition.InLog;
 import ru.tinkoff.eclair.definition.OutLog;
 import ru.tinkoff.eclair.definition.ParameterLog;
 import ru.tinkoff.eclair.definition.method.MethodLog;
+import ru.tinkoff.eclair.logger.facade.BufferedLoggerFacade;
+import ru.tinkoff.eclair.logger.facade.CachingLoggerFacadeFactory;
+import ru.tinkoff.eclair.logger.facade.LoggerFacade;
 import ru.tinkoff.eclair.logger.facade.LoggerFacadeFactory;
 import ru.tinkoff.eclair.logger.facade.Slf4JLoggerFacadeFactory;
 import ru.tinkoff.eclair.printer.Printer;
@@ -38,7 +41,7 @@ import static org.springframework.boot.logging.LogLevel.OFF;
 /**
  * Standard {@link EclairLogger} implementation for AOP and manual level-specific logging.
  * Performs logging into target defined by {@link #loggerFacadeFactory}.
- * Determines context-specific configuration using {@link #loggingSystem}.
+ * Determines context-specific configuration using {@link LoggingSystem}.
  *
  * @author Vyacheslav Klapatnyuk
  * @see LoggerFacadeFactory
@@ -49,15 +52,15 @@ public class SimpleLogger extends LevelSensitiveLogger implements ManualLogger {
     /**
      * Token indicating 'in'-event (beginning of method execution) in the log.
      */
-    private static final String IN = ">";
+    static final String IN = ">";
     /**
      * Token indicating 'out'-event (ending of method execution) in the log.
      */
-    private static final String OUT = "<";
+    static final String OUT = "<";
     /**
      * Token indicating 'error'-event (emergency ending of method execution) in the log.
      */
-    private static final String ERROR = "!";
+    static final String ERROR = "!";
     /**
      * Token indicating manual logging event.
      */
@@ -66,15 +69,16 @@ public class SimpleLogger extends LevelSensitiveLogger implements ManualLogger {
     private final LoggerNameBuilder loggerNameBuilder = LoggerNameBuilder.getInstance();
 
     private final LoggerFacadeFactory loggerFacadeFactory;
-    private final LoggingSystem loggingSystem;
+    private final EffectiveLevelCache effectiveLevelCache;
+    private final MessageBuilderCache messageBuilderCache = new MessageBuilderCache();
 
     public SimpleLogger() {
-        this(new Slf4JLoggerFacadeFactory(), LoggingSystem.get(SimpleLogger.class.getClassLoader()));
+        this(new CachingLoggerFacadeFactory(new Slf4JLoggerFacadeFactory()), LoggingSystem.get(SimpleLogger.class.getClassLoader()));
     }
 
     public SimpleLogger(LoggerFacadeFactory loggerFacadeFactory, LoggingSystem loggingSystem) {
         this.loggerFacadeFactory = loggerFacadeFactory;
-        this.loggingSystem = loggingSystem;
+        this.effectiveLevelCache = EffectiveLevelCache.newInstance(loggingSystem);
     }
 
     /**
@@ -102,8 +106,12 @@ public class SimpleLogger extends LevelSensitiveLogger implements ManualLogger {
         String loggerName = loggerNameBuilder.buildByInvoker();
         if (isLogEnabled(loggerName, level) && isLogEnabled(loggerName, ifEnabledLevel)) {
             String message = MANUAL + " " + format;
-            Object[] unwrappedArguments = unwrapArguments(arguments);
-            loggerFacadeFactory.getLoggerFacade(loggerName).log(level, message, unwrappedArguments);
+            LoggerFacade loggerFacade = loggerFacadeFactory.getLoggerFacade(loggerName);
+            if (arguments.length == 0) {
+                loggerFacade.log(level, message);
+            } else {
+                loggerFacade.log(level, message, unwrapArguments(arguments));
+            }
         }
     }
 
@@ -127,28 +135,18 @@ public class SimpleLogger extends LevelSensitiveLogger implements ManualLogger {
         return result;
     }
 
-    /**
-     * Prepares logger name according to method invocation.
-     *
-     * @param invocation current loggable method invocation
-     * @return logger name
-     */
-    @Override
-    protected String getLoggerName(MethodInvocation invocation) {
-        return loggerNameBuilder.build(invocation);
-    }
-
     /**
      * Determines if log level is enabled for logger specified by name.
+     * Note: Effective levels are cached while {@link LoggingSystem} is able to notify about their changes.
      *
      * @param loggerName checkable logger name
      * @param level      checkable level
      * @return {@code true} if enabled, {@code false} otherwise
+     * @see EffectiveLevelCache
      */
     @Override
     protected boolean isLogEnabled(String loggerName, LogLevel level) {
-        return level != OFF &&
-                level.ordinal() >= loggingSystem.getLoggerConfiguration(loggerName).getEffectiveLevel().ordinal();
+        return level != OFF && level.ordinal() >= effectiveLevelCache.get(loggerName).ordinal();
     }
 
     /**
@@ -171,7 +169,7 @@ public class SimpleLogger extends LevelSensitiveLogger implements ManualLogger {
      */
     @Override
     protected void logIn(MethodInvocation invocation, MethodLog methodLog) {
-        String loggerName = getLoggerName(invocation);
+        String loggerName = methodLog.getLoggerName();
         LogLevel level = null;
 
         // initialize 'inLog' attributes
@@ -187,63 +185,66 @@ public class SimpleLogger extends LevelSensitiveLogger implements ManualLogger {
             }
         }
 
-        StringBuilder builder = new StringBuilder();
-        boolean isParameterLogVerboseFound = false;
-        boolean isParameterLogSkippedFound = false;
-        Object[] arguments = invocation.getArguments();
-        for (int a = 0; a < arguments.length; a++) {
-            ParameterLog parameterLog = methodLog.getParameterLogs().get(a);
-            boolean isParameterLogDefined = nonNull(parameterLog);
-
-            // filter argument
-            if (isParameterLogDefined) {
-                LogLevel parameterLogLevel = parameterLog.getLevel();
-                if (parameterLogLevel == OFF || !isLogEnabled(loggerName, expectedLevelResolver.apply(parameterLog))) {
+        StringBuilder builder = newMessageBuilder().append(IN);
+        try {
+            boolean isParameterLogVerboseFound = false;
+            boolean isParameterLogSkippedFound = false;
+            Object[] arguments = invocation.getArguments();
+            for (int a = 0; a < arguments.length; a++) {
+                ParameterLog parameterLog = methodLog.getParameterLogs().get(a);
+                boolean isParameterLogDefined = nonNull(parameterLog);
+
+                // filter argument
+                if (isParameterLogDefined) {
+                    LogLevel parameterLogLevel = parameterLog.getLevel();
+                    if (parameterLogLevel == OFF || !isLogEnabled(loggerName, expectedLevelResolver.apply(parameterLog))) {
+                        isParameterLogSkippedFound = true;
+                        continue;
+                    }
+                    if (!isInLogLogEnabled) {
+                        if (isNull(level) || parameterLogLevel.ordinal() > level.ordinal()) {
+                            level = parameterLogLevel;
+                        }
+                    }
+                } else if (!isInLogVerboseLogEnabled) {
                     isParameterLogSkippedFound = true;
                     continue;
                 }
-                if (!isInLogLogEnabled) {
-                    if (isNull(level) || parameterLogLevel.ordinal() > level.ordinal()) {
-                        level = parameterLogLevel;
-                    }
+
+                // print delimiter
+                if (isParameterLogVerboseFound) {
+                    builder.append(", ");
+                } else {
+                    builder.append(" ");
+                    isParameterLogVerboseFound = true;
                 }
-            } else if (!isInLogVerboseLogEnabled) {
-                isParameterLogSkippedFound = true;
-                continue;
-            }
 
-            // print delimiter
-            if (isParameterLogVerboseFound) {
-                builder.append(", ");
-            } else {
-                builder.append(" ");
-                isParameterLogVerboseFound = true;
-            }
+                // print parameter name
+                if (!isParameterLogDefined || isLogEnabled(loggerName, parameterLog.getVerboseLevel())) {
+                    String parameterName = methodLog.getParameterNames().get(a);
+                    if (nonNull(parameterName)) {
+                        builder.append(parameterName).append("=");
+                    } else if (isParameterLogSkippedFound) {
+                        builder.append(a).append("=");
+                    }
+                }
 
-            // print parameter name
-            if (!isParameterLogDefined || isLogEnabled(loggerName, parameterLog.getVerboseLevel())) {
-                String parameterName = methodLog.getParameterNames().get(a);
-                if (nonNull(parameterName)) {
-                    builder.append(parameterName).append("=");
-                } else if (isParameterLogSkippedFound) {
-                    builder.append(Integer.toString(a)).append("=");
+                // print parameter value
+                Object argument = arguments[a];
+                if (isNull(argument)) {
+                    builder.append((String) null);
+                } else if (isParameterLogDefined) {
+                    printArgument(builder, parameterLog.getPrinter(), argument);
+                } else {
+                    printArgument(builder, inLog.getPrinters().get(a), argument);
                 }
             }
 
-            // print parameter value
-            Object argument = arguments[a];
-            if (isNull(argument)) {
-                builder.append((String) null);
-            } else if (isParameterLogDefined) {
-                builder.append(printArgument(parameterLog.getPrinter(), argument));
-            } else {
-                builder.append(printArgument(inLog.getPrinters().get(a), argument));
+            if (isInLogLogEnabled || isParameterLogVerboseFound) {
+                log(loggerName, level, builder, null);
             }
-        }
-
-        if (isInLogLogEnabled || isParameterLogVerboseFound) {
-            String message = IN + builder.toString();
-            loggerFacadeFactory.getLoggerFacade(loggerName).log(level, message);
+        } finally {
+            releaseMessageBuilder(builder);
         }
     }
 
@@ -268,29 +269,48 @@ public class SimpleLogger extends LevelSensitiveLogger implements ManualLogger {
      */
     @Override
     protected void logOut(MethodInvocation invocation, MethodLog methodLog, Object result) {
+        logOut(invocation, methodLog, result, NO_DURATION);
+    }
+
+    /**
+     * Performs the logging of 'out'-event (ending of method execution) with execution duration if it is requested by {@link OutLog}.
+     *
+     * @param invocation    current loggable method invocation
+     * @param methodLog     definition of invoked method logging
+     * @param result        result of the loggable method invocation
+     * @param durationNanos execution duration in nanoseconds or {@link #NO_DURATION}
+     */
+    @Override
+    protected void logOut(MethodInvocation invocation, MethodLog methodLog, Object result, long durationNanos) {
         OutLog outLog = methodLog.getOutLog();
         if (isNull(outLog)) {
             return;
         }
-        String loggerName = getLoggerName(invocation);
+        String loggerName = methodLog.getLoggerName();
         if (!isLogEnabled(loggerName, expectedLevelResolver.apply(outLog))) {
             return;
         }
-        String message = OUT + buildResultClause(invocation, outLog, result, loggerName);
-        loggerFacadeFactory.getLoggerFacade(loggerName).log(outLog.getLevel(), message);
+        StringBuilder builder = newMessageBuilder().append(OUT);
+        try {
+            appendResultClause(builder, invocation, outLog, result, loggerName);
+            appendDurationClause(builder, outLog, durationNanos);
+            log(loggerName, outLog.getLevel(), builder, null);
+        } finally {
+            releaseMessageBuilder(builder);
+        }
     }
 
-    private String buildResultClause(MethodInvocation invocation, OutLog outLog, Object result, String loggerName) {
+    private void appendResultClause(StringBuilder builder, MethodInvocation invocation, OutLog outLog, Object result, String loggerName) {
         if (isLogEnabled(loggerName, outLog.getVerboseLevel())) {
             if (nonNull(result)) {
-                return " " + printArgument(outLog.getPrinter(), result);
+                printArgument(builder.append(' '), outLog.getPrinter(), result);
+                return;
             }
             Class<?> returnType = invocation.getMethod().getReturnType();
             if (returnType != void.class && returnType != Void.class) {
-                return " null";
+                builder.append(" null");
             }
         }
-        return "";
     }
 
     /**
@@ -315,36 +335,124 @@ public class SimpleLogger extends LevelSensitiveLogger implements ManualLogger {
      */
     @Override
     public void logError(MethodInvocation invocation, MethodLog methodLog, Throwable throwable) {
+        logError(invocation, methodLog, throwable, NO_DURATION);
+    }
+
+    /**
+     * Performs the logging of 'error'-event (emergency ending of method execution)
+     * with execution duration if it is requested by {@link OutLog}.
+     *
+     * @param invocation    current loggable method invocation
+     * @param methodLog     definition of invoked method logging
+     * @param throwable     thrown during the loggable method execution
+     * @param durationNanos execution duration in nanoseconds or {@link #NO_DURATION}
+     */
+    @Override
+    protected void logError(MethodInvocation invocation, MethodLog methodLog, Throwable throwable, long durationNanos) {
         ErrorLog errorLog = methodLog.findErrorLog(throwable.getClass());
         if (nonNull(errorLog)) {
-            String loggerName = getLoggerName(invocation);
+            String loggerName = methodLog.getLoggerName();
             if (isLogEnabled(loggerName, expectedLevelResolver.apply(errorLog))) {
-                String message = ERROR + buildCauseClause(errorLog, throwable, loggerName);
-                loggerFacadeFactory.getLoggerFacade(loggerName).log(errorLog.getLevel(), message, throwable);
+                StringBuilder builder = newMessageBuilder().append(ERROR);
+                try {
+                    appendCauseClause(builder, errorLog, throwable, loggerName);
+                    appendDurationClause(builder, methodLog.getOutLog(), durationNanos);
+                    log(loggerName, errorLog.getLevel(), builder, throwable);
+                } finally {
+                    releaseMessageBuilder(builder);
+                }
             }
         } else {
             OutLog outLog = methodLog.getOutLog();
             if (nonNull(outLog)) {
-                String loggerName = getLoggerName(invocation);
+                String loggerName = methodLog.getLoggerName();
                 if (isLogEnabled(loggerName, expectedLevelResolver.apply(outLog))) {
-                    loggerFacadeFactory.getLoggerFacade(loggerName).log(outLog.getLevel(), ERROR);
+                    StringBuilder builder = newMessageBuilder().append(ERROR);
+                    try {
+                        appendDurationClause(builder, outLog, durationNanos);
+                        log(loggerName, outLog.getLevel(), builder, null);
+                    } finally {
+                        releaseMessageBuilder(builder);
+                    }
                 }
             }
         }
     }
 
-    private String buildCauseClause(ErrorLog errorLog, Throwable throwable, String loggerName) {
+    private void appendCauseClause(StringBuilder builder, ErrorLog errorLog, Throwable throwable, String loggerName) {
         if (isLogEnabled(loggerName, errorLog.getVerboseLevel())) {
-            return " " + throwable.toString();
+            builder.append(' ').append(throwable.toString());
+        }
+    }
+
+    /**
+     * Appends the duration in milliseconds with microsecond precision, e.g. {@code " (12.345 ms)"}.
+     * Formatted without {@link String#format} to keep the event cheap.
+     */
+    private void appendDurationClause(StringBuilder builder, OutLog outLog, long durationNanos) {
+        if (durationNanos < 0 || isNull(outLog) || !outLog.isDuration()) {
+            return;
+        }
+        long micros = durationNanos / 1000;
+        long fraction = micros % 1000;
+        builder.append(" (").append(micros / 1000).append('.');
+        if (fraction < 100) {
+            builder.append(fraction < 10 ? "00" : "0");
+        }
+        builder.append(fraction).append(" ms)");
+    }
+
+    /**
+     * Provides the buffer for building of 'in'-, 'out'- or 'error'-event message.
+     * Note: by default the buffer is reused per thread, so it should not be retained after the logging.
+     *
+     * @return empty buffer
+     */
+    protected StringBuilder newMessageBuilder() {
+        return messageBuilderCache.acquire();
+    }
+
+    /**
+     * Returns the buffer obtained by {@link #newMessageBuilder()} after the message is logged.
+     * Note: buffers not provided by the default implementation are ignored.
+     *
+     * @param builder buffer containing the logged message
+     */
+    protected void releaseMessageBuilder(StringBuilder builder) {
+        messageBuilderCache.release(builder);
+    }
+
+    /**
+     * Passes the built message to {@link LoggerFacade}.
+     * Note: {@link BufferedLoggerFacade}s consume the buffer directly, others receive its {@link String} representation.
+     *
+     * @param loggerName logger name
+     * @param level      expected log level
+     * @param builder    buffer containing the message
+     * @param throwable  thrown during the loggable method execution or {@code null}
+     */
+    private void log(String loggerName, LogLevel level, StringBuilder builder, Throwable throwable) {
+        LoggerFacade loggerFacade = loggerFacadeFactory.getLoggerFacade(loggerName);
+        if (loggerFacade instanceof BufferedLoggerFacade) {
+            ((BufferedLoggerFacade) loggerFacade).log(level, builder, throwable);
+        } else if (isNull(throwable)) {
+            loggerFacade.log(level, builder.toString());
+        } else {
+            loggerFacade.log(level, builder.toString(), throwable);
         }
-        return "";
     }
 
-    private String printArgument(Printer printer, Object argument) {
+    /**
+     * Prints the argument directly into the message buffer.
+     * Note: partially printed value is discarded if the printer fails, then the default printer is used.
+     */
+    private void printArgument(StringBuilder builder, Printer printer, Object argument) {
+        int length = builder.length();
         try {
-            return printer.print(argument);
+            printer.print(argument, builder);
         } catch (Exception e) {
-            return PrinterResolver.defaultPrinter.print(argument);
+            builder.setLength(length);
+            PrinterResolver.defaultPrinter.print(argument, builder);
         }
     }
 
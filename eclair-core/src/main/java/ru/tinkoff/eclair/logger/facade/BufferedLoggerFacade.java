@@ -0,0 +1,35 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger.facade;
+
+import org.springframework.boot.logging.LogLevel;
+
+/**
+ * {@link LoggerFacade} able to consume messages directly from the buffer they were built in.
+ * Allows to skip the {@link String} creation for every logging event.
+ * Note: the buffer is reused by the caller after return, so its content should be consumed synchronously.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public interface BufferedLoggerFacade extends LoggerFacade {
+
+    /**
+     * @param level     expected log level
+     * @param message   buffer containing already formatted message
+     * @param throwable thrown during the loggable method execution or {@code null}
+     */
+    void log(LogLevel level, StringBuilder message, Throwable throwable);
+}
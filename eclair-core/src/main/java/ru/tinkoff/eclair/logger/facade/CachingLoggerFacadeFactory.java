@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger.facade;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Decorator keeping single {@link LoggerFacade} instance per logger name.
+ * Reads are lock-free, so the delegate is invoked only once for every name within the bound.
+ * Note: names beyond {@link #maxSize} are not cached but delegated on every call
+ * to keep the memory footprint limited for dynamic names produced by manual logging;
+ * the bound is exact under concurrent insertions.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public class CachingLoggerFacadeFactory implements LoggerFacadeFactory {
+
+    public static final int DEFAULT_MAX_SIZE = 4096;
+
+    private final LoggerFacadeFactory loggerFacadeFactory;
+    private final int maxSize;
+    private final Map<String, LoggerFacade> loggerFacades = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    public CachingLoggerFacadeFactory(LoggerFacadeFactory loggerFacadeFactory) {
+        this(loggerFacadeFactory, DEFAULT_MAX_SIZE);
+    }
+
+    public CachingLoggerFacadeFactory(LoggerFacadeFactory loggerFacadeFactory, int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("'maxSize' should not be negative: " + maxSize);
+        }
+        this.loggerFacadeFactory = loggerFacadeFactory;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public LoggerFacade getLoggerFacade(String loggerName) {
+        LoggerFacade loggerFacade = loggerFacades.get(loggerName);
+        if (nonNull(loggerFacade)) {
+            return loggerFacade;
+        }
+        if (size.get() < maxSize) {
+            loggerFacade = loggerFacades.computeIfAbsent(loggerName, this::createWithinBound);
+        }
+        return nonNull(loggerFacade) ? loggerFacade : loggerFacadeFactory.getLoggerFacade(loggerName);
+    }
+
+    /**
+     * Reserves the size before insertion, so concurrent insertions never exceed the bound.
+     *
+     * @return {@code null} to skip insertion if the bound is reached
+     */
+    private LoggerFacade createWithinBound(String loggerName) {
+        if (size.incrementAndGet() > maxSize) {
+            size.decrementAndGet();
+            return null;
+        }
+        LoggerFacade loggerFacade = null;
+        try {
+            loggerFacade = loggerFacadeFactory.getLoggerFacade(loggerName);
+            return loggerFacade;
+        } finally {
+            if (isNull(loggerFacade)) {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    int size() {
+        return loggerFacades.size();
+    }
+}
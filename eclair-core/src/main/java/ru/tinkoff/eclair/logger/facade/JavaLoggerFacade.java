@@ -54,4 +54,14 @@ public class JavaLoggerFacade implements LoggerFacade {
         Throwable throwable = formattingTuple.getThrowable();
         logger.log(LEVELS.get(level), message, throwable);
     }
+
+    @Override
+    public void log(LogLevel level, String message) {
+        logger.log(LEVELS.get(level), message);
+    }
+
+    @Override
+    public void log(LogLevel level, String message, Throwable throwable) {
+        logger.log(LEVELS.get(level), message, throwable);
+    }
 }
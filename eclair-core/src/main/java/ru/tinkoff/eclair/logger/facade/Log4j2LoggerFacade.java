@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger.facade;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.spi.ExtendedLogger;
+import org.springframework.boot.logging.LogLevel;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Garbage-free {@link LoggerFacade} for Log4j2.
+ * Buffered messages are passed through a thread-local {@link ReusableCharSequenceMessage}
+ * without creating {@link String}s or argument arrays.
+ * Note: should be loaded only if Log4j2 API is available on the classpath.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public class Log4j2LoggerFacade implements BufferedLoggerFacade {
+
+    private static final String FQCN = Log4j2LoggerFacade.class.getName();
+    private static final Map<LogLevel, Level> LEVELS = new EnumMap<>(LogLevel.class);
+    private static final ThreadLocal<ReusableCharSequenceMessage> MESSAGE = ThreadLocal.withInitial(ReusableCharSequenceMessage::new);
+
+    private final ExtendedLogger logger;
+
+    static {
+        LEVELS.put(LogLevel.TRACE, Level.TRACE);
+        LEVELS.put(LogLevel.DEBUG, Level.DEBUG);
+        LEVELS.put(LogLevel.INFO, Level.INFO);
+        LEVELS.put(LogLevel.WARN, Level.WARN);
+        LEVELS.put(LogLevel.ERROR, Level.ERROR);
+        LEVELS.put(LogLevel.FATAL, Level.FATAL);
+        LEVELS.put(LogLevel.OFF, Level.OFF);
+    }
+
+    public Log4j2LoggerFacade(ExtendedLogger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public void log(LogLevel level, String format, Object... arguments) {
+        if (level != LogLevel.OFF) {
+            logger.logIfEnabled(FQCN, LEVELS.get(level), null, format, arguments);
+        }
+    }
+
+    @Override
+    public void log(LogLevel level, String message) {
+        log(level, message, (Throwable) null);
+    }
+
+    @Override
+    public void log(LogLevel level, String message, Throwable throwable) {
+        logBuffered(level, message, throwable);
+    }
+
+    @Override
+    public void log(LogLevel level, StringBuilder message, Throwable throwable) {
+        logBuffered(level, message, throwable);
+    }
+
+    private void logBuffered(LogLevel level, CharSequence text, Throwable throwable) {
+        if (level == LogLevel.OFF) {
+            return;
+        }
+        ReusableCharSequenceMessage message = MESSAGE.get();
+        if (message.isInUse()) {
+            // reentrant logging, e.g. from an appender
+            message = new ReusableCharSequenceMessage();
+        }
+        message.set(text);
+        try {
+            logger.logIfEnabled(FQCN, LEVELS.get(level), null, message, throwable);
+        } finally {
+            message.clear();
+        }
+    }
+}
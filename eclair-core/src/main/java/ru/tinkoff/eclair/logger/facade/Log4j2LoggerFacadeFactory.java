@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger.facade;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.spi.LoggerContext;
+
+/**
+ * Note: should be loaded only if Log4j2 API is available on the classpath.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public class Log4j2LoggerFacadeFactory implements LoggerFacadeFactory {
+
+    private final LoggerContext loggerContext;
+
+    public Log4j2LoggerFacadeFactory() {
+        this(LogManager.getContext(false));
+    }
+
+    public Log4j2LoggerFacadeFactory(LoggerContext loggerContext) {
+        this.loggerContext = loggerContext;
+    }
+
+    @Override
+    public LoggerFacade getLoggerFacade(String loggerName) {
+        return new Log4j2LoggerFacade(loggerContext.getLogger(loggerName));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger.facade;
+
+import ch.qos.logback.classic.Logger;
+import org.springframework.boot.logging.LogLevel;
+
+import static org.slf4j.spi.LocationAwareLogger.*;
+
+/**
+ * {@link LoggerFacade} passing messages to Logback {@link Logger} directly.
+ * Already formatted messages are logged without argument array, so Logback does not scan them for placeholders.
+ * Note: should be loaded only if Logback is available on the classpath.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public class LogbackLoggerFacade implements LoggerFacade {
+
+    private static final String FQCN = LogbackLoggerFacade.class.getName();
+
+    private final Logger logger;
+
+    public LogbackLoggerFacade(Logger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public void log(LogLevel level, String format, Object... arguments) {
+        if (level != LogLevel.OFF) {
+            logger.log(null, FQCN, toLevelInt(level), format, arguments, null);
+        }
+    }
+
+    @Override
+    public void log(LogLevel level, String message) {
+        if (level != LogLevel.OFF) {
+            logger.log(null, FQCN, toLevelInt(level), message, null, null);
+        }
+    }
+
+    @Override
+    public void log(LogLevel level, String message, Throwable throwable) {
+        if (level != LogLevel.OFF) {
+            logger.log(null, FQCN, toLevelInt(level), message, null, throwable);
+        }
+    }
+
+    private int toLevelInt(LogLevel level) {
+        switch (level) {
+            case FATAL:
+            case ERROR:
+                return ERROR_INT;
+            case WARN:
+                return WARN_INT;
+            case INFO:
+                return INFO_INT;
+            case DEBUG:
+                return DEBUG_INT;
+            case TRACE:
+                return TRACE_INT;
+            default:
+                throw new IllegalArgumentException("Unexpected logging level: " + level);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger.facade;
+
+import ch.qos.logback.classic.LoggerContext;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Note: should be loaded only if Logback is available on the classpath.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public class LogbackLoggerFacadeFactory implements LoggerFacadeFactory {
+
+    private final LoggerContext loggerContext;
+
+    public LogbackLoggerFacadeFactory() {
+        this((LoggerContext) LoggerFactory.getILoggerFactory());
+    }
+
+    public LogbackLoggerFacadeFactory(LoggerContext loggerContext) {
+        this.loggerContext = loggerContext;
+    }
+
+    /**
+     * @return {@code true} if SLF4J is bound to Logback, {@code false} otherwise
+     */
+    public static boolean isBound() {
+        return LoggerFactory.getILoggerFactory() instanceof LoggerContext;
+    }
+
+    @Override
+    public LoggerFacade getLoggerFacade(String loggerName) {
+        return new LogbackLoggerFacade(loggerContext.getLogger(loggerName));
+    }
+}
@@ -22,5 +22,23 @@ import org.springframework.boot.logging.LogLevel;
  */
 public interface LoggerFacade {
 
+    Object[] NO_ARGUMENTS = new Object[0];
+
     void log(LogLevel level, String format, Object... arguments);
+
+    /**
+     * Logs already formatted message.
+     * Note: Could be overridden to skip the varargs array allocation and placeholder scanning.
+     */
+    default void log(LogLevel level, String message) {
+        log(level, message, NO_ARGUMENTS);
+    }
+
+    /**
+     * Logs already formatted message with throwable.
+     * Note: Could be overridden to skip the varargs array allocation and placeholder scanning.
+     */
+    default void log(LogLevel level, String message, Throwable throwable) {
+        log(level, message, new Object[]{throwable});
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger.facade;
+
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ReusableMessage;
+import org.apache.logging.log4j.message.SimpleMessage;
+
+/**
+ * Log4j2 {@link ReusableMessage} referring to the text only while it is being logged.
+ * Garbage-free layouts and async loggers copy the text by {@link #formatTo(StringBuilder)}.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+final class ReusableCharSequenceMessage implements ReusableMessage {
+
+    private static final Object[] NO_PARAMETERS = new Object[0];
+
+    private CharSequence text;
+    private boolean inUse;
+
+    boolean isInUse() {
+        return inUse;
+    }
+
+    void set(CharSequence text) {
+        this.text = text;
+        this.inUse = true;
+    }
+
+    void clear() {
+        this.text = null;
+        this.inUse = false;
+    }
+
+    @Override
+    public String getFormattedMessage() {
+        return String.valueOf(text);
+    }
+
+    @Override
+    public String getFormat() {
+        return getFormattedMessage();
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return NO_PARAMETERS;
+    }
+
+    @Override
+    public Throwable getThrowable() {
+        return null;
+    }
+
+    @Override
+    public void formatTo(StringBuilder buffer) {
+        buffer.append(text);
+    }
+
+    @Override
+    public Object[] swapParameters(Object[] emptyReplacement) {
+        return emptyReplacement;
+    }
+
+    @Override
+    public short getParameterCount() {
+        return 0;
+    }
+
+    @Override
+    public Message memento() {
+        return new SimpleMessage(getFormattedMessage());
+    }
+}
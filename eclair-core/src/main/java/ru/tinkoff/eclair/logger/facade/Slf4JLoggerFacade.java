@@ -54,4 +54,56 @@ public class Slf4JLoggerFacade implements LoggerFacade {
                 throw new IllegalArgumentException("Unexpected logging level: " + level);
         }
     }
+
+    @Override
+    public void log(LogLevel level, String message) {
+        switch (level) {
+            case OFF:
+                break;
+            case FATAL:
+            case ERROR:
+                logger.error(message);
+                break;
+            case WARN:
+                logger.warn(message);
+                break;
+            case INFO:
+                logger.info(message);
+                break;
+            case DEBUG:
+                logger.debug(message);
+                break;
+            case TRACE:
+                logger.trace(message);
+                break;
+            default:
+                throw new IllegalArgumentException("Unexpected logging level: " + level);
+        }
+    }
+
+    @Override
+    public void log(LogLevel level, String message, Throwable throwable) {
+        switch (level) {
+            case OFF:
+                break;
+            case FATAL:
+            case ERROR:
+                logger.error(message, throwable);
+                break;
+            case WARN:
+                logger.warn(message, throwable);
+                break;
+            case INFO:
+                logger.info(message, throwable);
+                break;
+            case DEBUG:
+                logger.debug(message, throwable);
+                break;
+            case TRACE:
+                logger.trace(message, throwable);
+                break;
+            default:
+                throw new IllegalArgumentException("Unexpected logging level: " + level);
+        }
+    }
 }
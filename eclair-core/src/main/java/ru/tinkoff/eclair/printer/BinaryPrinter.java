@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * Encodes {@code byte[]} and {@link ByteBuffer} values in hexadecimal or Base64 form directly into the output.
+ * At most {@link #getMaxBytes()} bytes are encoded, the rest is designated by suffix with total count of bytes,
+ * e.g. {@code 0a1b2c...(1024 bytes)}.
+ * Remaining bytes of {@link ByteBuffer} are encoded without changing its position.
+ * Heap buffers are read from their backing arrays, direct buffers are copied by small chunks only.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public class BinaryPrinter extends Printer {
+
+    public static final int DEFAULT_MAX_BYTES = 1024;
+
+    /**
+     * Multiple of 3 to keep Base64 chunks without padding.
+     */
+    private static final int CHUNK_BYTES = 768;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final char[] BASE64_DIGITS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    private Encoding encoding = Encoding.HEX;
+    private int maxBytes = DEFAULT_MAX_BYTES;
+
+    public BinaryPrinter setEncoding(Encoding encoding) {
+        this.encoding = encoding;
+        return this;
+    }
+
+    public Encoding getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * @param maxBytes count of bytes to encode, not positive value means unlimited
+     */
+    public BinaryPrinter setMaxBytes(int maxBytes) {
+        this.maxBytes = maxBytes;
+        return this;
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return clazz == byte[].class || ByteBuffer.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected String serialize(Object input) {
+        StringBuilder builder = new StringBuilder();
+        serialize(input, builder);
+        return builder.toString();
+    }
+
+    @Override
+    protected void serialize(Object input, Appendable output) {
+        try {
+            if (input instanceof byte[]) {
+                byte[] bytes = (byte[]) input;
+                print(bytes, 0, bytes.length, output);
+            } else if (input instanceof ByteBuffer) {
+                print((ByteBuffer) input, output);
+            } else {
+                output.append(String.valueOf(input));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void print(ByteBuffer buffer, Appendable output) throws IOException {
+        int size = buffer.remaining();
+        if (buffer.hasArray()) {
+            print(buffer.array(), buffer.arrayOffset() + buffer.position(), size, output);
+            return;
+        }
+        ByteBuffer duplicate = buffer.duplicate();
+        int count = getCount(size);
+        byte[] chunk = new byte[Math.min(count, CHUNK_BYTES)];
+        char[] chars = new char[encoding.getLength(chunk.length)];
+        for (int printed = 0; printed < count; printed += chunk.length) {
+            int length = Math.min(chunk.length, count - printed);
+            duplicate.get(chunk, 0, length);
+            write(output, chars, encoding.encode(chunk, 0, length, chars));
+        }
+        appendRest(output, count, size);
+    }
+
+    private void print(byte[] bytes, int offset, int size, Appendable output) throws IOException {
+        int count = getCount(size);
+        char[] chars = new char[encoding.getLength(Math.min(count, CHUNK_BYTES))];
+        for (int printed = 0; printed < count; printed += CHUNK_BYTES) {
+            int length = Math.min(CHUNK_BYTES, count - printed);
+            write(output, chars, encoding.encode(bytes, offset + printed, length, chars));
+        }
+        appendRest(output, count, size);
+    }
+
+    private int getCount(int size) {
+        return maxBytes > 0 ? Math.min(size, maxBytes) : size;
+    }
+
+    private static void write(Appendable output, char[] chars, int length) throws IOException {
+        if (output instanceof StringBuilder) {
+            ((StringBuilder) output).append(chars, 0, length);
+        } else if (output instanceof Writer) {
+            ((Writer) output).write(chars, 0, length);
+        } else {
+            output.append(CharBuffer.wrap(chars, 0, length));
+        }
+    }
+
+    private static void appendRest(Appendable output, int count, int size) throws IOException {
+        if (count < size) {
+            output.append("...(").append(Integer.toString(size)).append(" bytes)");
+        }
+    }
+
+    public enum Encoding {
+
+        HEX {
+            @Override
+            int getLength(int bytes) {
+                return bytes * 2;
+            }
+
+            @Override
+            int encode(byte[] bytes, int offset, int length, char[] chars) {
+                int position = 0;
+                for (int i = offset; i < offset + length; i++) {
+                    chars[position++] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+                    chars[position++] = HEX_DIGITS[bytes[i] & 0xf];
+                }
+                return position;
+            }
+        },
+
+        /**
+         * Basic Base64 encoding with padding, see RFC 4648.
+         */
+        BASE64 {
+            @Override
+            int getLength(int bytes) {
+                return (bytes + 2) / 3 * 4;
+            }
+
+            @Override
+            int encode(byte[] bytes, int offset, int length, char[] chars) {
+                int position = 0;
+                int end = offset + length;
+                int i = offset;
+                for (; i + 2 < end; i += 3) {
+                    int bits = (bytes[i] & 0xff) << 16 | (bytes[i + 1] & 0xff) << 8 | (bytes[i + 2] & 0xff);
+                    chars[position++] = BASE64_DIGITS[bits >>> 18];
+                    chars[position++] = BASE64_DIGITS[(bits >>> 12) & 0x3f];
+                    chars[position++] = BASE64_DIGITS[(bits >>> 6) & 0x3f];
+                    chars[position++] = BASE64_DIGITS[bits & 0x3f];
+                }
+                if (i < end) {
+                    int bits = (bytes[i] & 0xff) << 16 | (i + 1 < end ? (bytes[i + 1] & 0xff) << 8 : 0);
+                    chars[position++] = BASE64_DIGITS[bits >>> 18];
+                    chars[position++] = BASE64_DIGITS[(bits >>> 12) & 0x3f];
+                    chars[position++] = i + 1 < end ? BASE64_DIGITS[(bits >>> 6) & 0x3f] : '=';
+                    chars[position++] = '=';
+                }
+                return position;
+            }
+        };
+
+        abstract int getLength(int bytes);
+
+        /**
+         * @return count of encoded chars
+         */
+        abstract int encode(byte[] bytes, int offset, int length, char[] chars);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Writes placeholder instead of the bean which is already being serialized up the object graph,
+ * so cyclic references of any length are printed instead of failing with infinite recursion.
+ * Beans on the current path are tracked by identity within the single serialization call.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+final class CyclicReferenceSerializerModifier extends BeanSerializerModifier {
+
+    static final String PLACEHOLDER = "[cyclic reference]";
+
+    private static final Object PATH_ATTRIBUTE = CyclicReferenceSerializerModifier.class;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+        if (serializer instanceof BeanSerializerBase) {
+            return new CyclicReferenceSerializer((JsonSerializer<Object>) serializer);
+        }
+        return serializer;
+    }
+
+    private static final class CyclicReferenceSerializer extends JsonSerializer<Object>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonSerializer<Object> serializer;
+
+        private CyclicReferenceSerializer(JsonSerializer<Object> serializer) {
+            this.serializer = serializer;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            Set<Object> path = getPath(serializers);
+            if (!path.add(value)) {
+                gen.writeString(PLACEHOLDER);
+                return;
+            }
+            try {
+                serializer.serialize(value, gen, serializers);
+            } finally {
+                path.remove(value);
+            }
+        }
+
+        @Override
+        public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider serializers,
+                                      TypeSerializer typeSer) throws IOException {
+            Set<Object> path = getPath(serializers);
+            if (!path.add(value)) {
+                gen.writeString(PLACEHOLDER);
+                return;
+            }
+            try {
+                serializer.serializeWithType(value, gen, serializers, typeSer);
+            } finally {
+                path.remove(value);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Set<Object> getPath(SerializerProvider serializers) {
+            Set<Object> path = (Set<Object>) serializers.getAttribute(PATH_ATTRIBUTE);
+            if (isNull(path)) {
+                path = Collections.newSetFromMap(new IdentityHashMap<>());
+                serializers.setAttribute(PATH_ATTRIBUTE, path);
+            }
+            return path;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) throws JsonMappingException {
+            if (serializer instanceof ContextualSerializer) {
+                JsonSerializer<?> contextual = ((ContextualSerializer) serializer).createContextual(prov, property);
+                if (contextual != serializer) {
+                    return new CyclicReferenceSerializer((JsonSerializer<Object>) contextual);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (serializer instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) serializer).resolve(provider);
+            }
+        }
+
+        @Override
+        public JsonSerializer<Object> unwrappingSerializer(NameTransformer unwrapper) {
+            return new CyclicReferenceSerializer(serializer.unwrappingSerializer(unwrapper));
+        }
+
+        @Override
+        public boolean isUnwrappingSerializer() {
+            return serializer.isUnwrappingSerializer();
+        }
+
+        @Override
+        public boolean usesObjectId() {
+            return serializer.usesObjectId();
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Object value) {
+            return serializer.isEmpty(provider, value);
+        }
+
+        @Override
+        public Class<Object> handledType() {
+            return serializer.handledType();
+        }
+    }
+}
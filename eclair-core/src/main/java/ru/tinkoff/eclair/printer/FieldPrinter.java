@@ -0,0 +1,432 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Prints objects without overridden {@link Object#toString()} in the form of {@code ClassName{field=value, ...}}.
+ * Fields are looked up once per class and read by {@link MethodHandle} getters while printing.
+ * Values of types with meaningful {@link Object#toString()} (including {@link CharSequence}, {@link Number} and enums)
+ * are printed as is, arrays, collections and maps are printed with at most {@link #getMaxElements()} elements.
+ * Nested objects deeper than {@link #getMaxDepth()} are printed as {@code ClassName{...}}, nested arrays, collections
+ * and maps deeper than it are printed as their size only, e.g. {@code [...(+3)]},
+ * references back to the object being printed are printed as {@code <cycle>}.
+ * Note: static, transient and synthetic fields are skipped.
+ * Note: all other fields are printed including private and sensitive ones, and the printer supports almost any type,
+ * so it should be requested explicitly, e.g. by {@code @Log(printer = "fieldPrinter")}.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public class FieldPrinter extends Printer {
+
+    public static final int DEFAULT_MAX_DEPTH = 3;
+    public static final int DEFAULT_MAX_ELEMENTS = 10;
+
+    /**
+     * Size of the intermediate buffer to be flushed into the output, lets length-limited outputs stop printing early.
+     */
+    private static final int FLUSH_THRESHOLD = 512;
+
+    private static final ClassValue<Descriptor> descriptors = new ClassValue<Descriptor>() {
+        @Override
+        protected Descriptor computeValue(Class<?> type) {
+            return Descriptor.of(type);
+        }
+    };
+
+    private int maxDepth = DEFAULT_MAX_DEPTH;
+    private int maxElements = DEFAULT_MAX_ELEMENTS;
+
+    /**
+     * @param maxDepth depth of nested objects to print fields of and containers to print elements of,
+     *                 the printed object itself has depth {@code 0}
+     */
+    public FieldPrinter setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @param maxElements count of array, collection or map elements to print
+     */
+    public FieldPrinter setMaxElements(int maxElements) {
+        this.maxElements = maxElements;
+        return this;
+    }
+
+    public int getMaxElements() {
+        return maxElements;
+    }
+
+    /**
+     * Collections and maps are left to the printers of their whole content, only nested ones are limited.
+     */
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return !Collection.class.isAssignableFrom(clazz) && !Map.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected String serialize(Object input) {
+        StringBuilder builder = new StringBuilder(FLUSH_THRESHOLD);
+        print(input, new Context(builder, null));
+        return builder.toString();
+    }
+
+    @Override
+    protected void serialize(Object input, Appendable output) {
+        if (output instanceof StringBuilder) {
+            print(input, new Context((StringBuilder) output, null));
+        } else {
+            print(input, new Context(new StringBuilder(FLUSH_THRESHOLD * 2), output));
+        }
+    }
+
+    private void print(Object input, Context context) {
+        try {
+            context.print(input, 0);
+            context.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private enum Kind {
+        VALUE, ARRAY, COLLECTION, MAP, OBJECT
+    }
+
+    private static final class Descriptor {
+
+        private static final Descriptor VALUE = new Descriptor(Kind.VALUE, null, null, null, null, null);
+        private static final Descriptor ARRAY = new Descriptor(Kind.ARRAY, null, null, null, null, null);
+        private static final Descriptor COLLECTION = new Descriptor(Kind.COLLECTION, null, null, null, null, null);
+        private static final Descriptor MAP = new Descriptor(Kind.MAP, null, null, null, null, null);
+
+        private final Kind kind;
+        private final String name;
+        private final String[] fieldPrefixes;
+        /**
+         * Primitive field types or {@link Object}, primitive values are read without boxing.
+         */
+        private final Class<?>[] fieldTypes;
+        /**
+         * Whether field type is final and printed as is, such values are printed without descriptor lookup.
+         */
+        private final boolean[] valueFields;
+        private final MethodHandle[] getters;
+
+        private Descriptor(Kind kind, String name, String[] fieldPrefixes, Class<?>[] fieldTypes, boolean[] valueFields,
+                           MethodHandle[] getters) {
+            this.kind = kind;
+            this.name = name;
+            this.fieldPrefixes = fieldPrefixes;
+            this.fieldTypes = fieldTypes;
+            this.valueFields = valueFields;
+            this.getters = getters;
+        }
+
+        private static Descriptor of(Class<?> clazz) {
+            if (clazz.isArray()) {
+                return ARRAY;
+            }
+            if (Collection.class.isAssignableFrom(clazz)) {
+                return COLLECTION;
+            }
+            if (Map.class.isAssignableFrom(clazz)) {
+                return MAP;
+            }
+            if (isValue(clazz)) {
+                return VALUE;
+            }
+            try {
+                return ofObject(clazz);
+            } catch (RuntimeException | IllegalAccessException e) {
+                return VALUE;
+            }
+        }
+
+        private static boolean isValue(Class<?> clazz) {
+            if (clazz.isPrimitive() || clazz.isEnum()) {
+                return true;
+            }
+            if (CharSequence.class.isAssignableFrom(clazz) || Number.class.isAssignableFrom(clazz)) {
+                return true;
+            }
+            return !ReflectionUtils.findMethod(clazz, "toString").getDeclaringClass().equals(Object.class);
+        }
+
+        private static Descriptor ofObject(Class<?> clazz) throws IllegalAccessException {
+            List<Field> fields = new ArrayList<>();
+            collectFields(clazz, fields);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            int count = fields.size();
+            String[] fieldPrefixes = new String[count];
+            Class<?>[] fieldTypes = new Class<?>[count];
+            boolean[] valueFields = new boolean[count];
+            MethodHandle[] getters = new MethodHandle[count];
+            for (int i = 0; i < count; i++) {
+                Field field = fields.get(i);
+                field.setAccessible(true);
+                Class<?> type = field.getType();
+                Class<?> fieldType = type.isPrimitive() ? type : Object.class;
+                fieldPrefixes[i] = (i == 0 ? "" : ", ") + field.getName() + "=";
+                fieldTypes[i] = fieldType;
+                valueFields[i] = !type.isPrimitive() && Modifier.isFinal(type.getModifiers()) && isValue(type);
+                getters[i] = lookup.unreflectGetter(field).asType(MethodType.methodType(fieldType, Object.class));
+            }
+            String name = clazz.getSimpleName().isEmpty() ? clazz.getName() : clazz.getSimpleName();
+            return new Descriptor(Kind.OBJECT, name, fieldPrefixes, fieldTypes, valueFields, getters);
+        }
+
+        private static void collectFields(Class<?> clazz, List<Field> fields) {
+            if (clazz == Object.class) {
+                return;
+            }
+            collectFields(clazz.getSuperclass(), fields);
+            for (Field field : clazz.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                    fields.add(field);
+                }
+            }
+        }
+    }
+
+    /**
+     * State of single printing: buffer, output to flush the buffer into and the chain of containers being printed.
+     */
+    private final class Context {
+
+        private final StringBuilder builder;
+        private final Appendable output;
+
+        /**
+         * Usually short, so the identity search is cheaper than any hashing.
+         */
+        private Object[] path = new Object[8];
+        private int pathSize;
+
+        /**
+         * @param output {@code null} if printing into the builder itself
+         */
+        private Context(StringBuilder builder, Appendable output) {
+            this.builder = builder;
+            this.output = output;
+        }
+
+        private void print(Object value, int depth) throws IOException {
+            if (isNull(value)) {
+                builder.append("null");
+                return;
+            }
+            Descriptor descriptor = descriptors.get(value.getClass());
+            if (descriptor.kind == Kind.VALUE) {
+                printValue(value);
+                return;
+            }
+            if (!enter(value)) {
+                builder.append("<cycle>");
+                return;
+            }
+            switch (descriptor.kind) {
+                case ARRAY:
+                    printArray(value, depth);
+                    break;
+                case COLLECTION:
+                    printCollection((Collection<?>) value, depth);
+                    break;
+                case MAP:
+                    printMap((Map<?, ?>) value, depth);
+                    break;
+                default:
+                    printObject(value, descriptor, depth);
+            }
+            pathSize--;
+        }
+
+        private void printValue(Object value) {
+            if (value instanceof String) {
+                builder.append((String) value);
+            } else if (value instanceof Integer) {
+                builder.append(((Integer) value).intValue());
+            } else if (value instanceof Long) {
+                builder.append(((Long) value).longValue());
+            } else {
+                builder.append(value);
+            }
+        }
+
+        private boolean enter(Object value) {
+            for (int i = 0; i < pathSize; i++) {
+                if (path[i] == value) {
+                    return false;
+                }
+            }
+            if (pathSize == path.length) {
+                path = Arrays.copyOf(path, pathSize * 2);
+            }
+            path[pathSize++] = value;
+            return true;
+        }
+
+        private void printArray(Object array, int depth) throws IOException {
+            int length = Array.getLength(array);
+            int count = Math.min(length, getElementLimit(depth));
+            builder.append('[');
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                print(Array.get(array, i), depth + 1);
+                flushIfNecessary();
+            }
+            appendRest(count, length);
+            builder.append(']');
+        }
+
+        private void printCollection(Collection<?> collection, int depth) throws IOException {
+            int size = collection.size();
+            int limit = getElementLimit(depth);
+            int count = 0;
+            builder.append('[');
+            for (Iterator<?> iterator = collection.iterator(); count < limit && iterator.hasNext(); count++) {
+                if (count > 0) {
+                    builder.append(", ");
+                }
+                print(iterator.next(), depth + 1);
+                flushIfNecessary();
+            }
+            appendRest(count, size);
+            builder.append(']');
+        }
+
+        private void printMap(Map<?, ?> map, int depth) throws IOException {
+            int size = map.size();
+            int limit = getElementLimit(depth);
+            int count = 0;
+            builder.append('{');
+            for (Iterator<? extends Map.Entry<?, ?>> iterator = map.entrySet().iterator(); count < limit && iterator.hasNext(); count++) {
+                if (count > 0) {
+                    builder.append(", ");
+                }
+                Map.Entry<?, ?> entry = iterator.next();
+                print(entry.getKey(), depth + 1);
+                builder.append('=');
+                print(entry.getValue(), depth + 1);
+                flushIfNecessary();
+            }
+            appendRest(count, size);
+            builder.append('}');
+        }
+
+        /**
+         * Containers deeper than the limit are counted toward it like objects, so deep nesting could not overflow the stack.
+         */
+        private int getElementLimit(int depth) {
+            return depth < maxDepth ? maxElements : 0;
+        }
+
+        private void appendRest(int count, int size) {
+            if (count < size) {
+                builder.append(count > 0 ? ", ...(+" : "...(+").append(size - count).append(')');
+            }
+        }
+
+        private void printObject(Object object, Descriptor descriptor, int depth) throws IOException {
+            builder.append(descriptor.name).append('{');
+            if (depth >= maxDepth) {
+                builder.append("...}");
+                return;
+            }
+            for (int i = 0; i < descriptor.getters.length; i++) {
+                builder.append(descriptor.fieldPrefixes[i]);
+                printField(descriptor.fieldTypes[i], descriptor.valueFields[i], descriptor.getters[i], object, depth);
+                flushIfNecessary();
+            }
+            builder.append('}');
+        }
+
+        private void printField(Class<?> fieldType, boolean valueField, MethodHandle getter, Object object, int depth)
+                throws IOException {
+            try {
+                if (fieldType == Object.class) {
+                    Object value = (Object) getter.invokeExact(object);
+                    if (valueField && nonNull(value)) {
+                        printValue(value);
+                    } else {
+                        print(value, depth + 1);
+                    }
+                } else if (fieldType == int.class) {
+                    builder.append((int) getter.invokeExact(object));
+                } else if (fieldType == long.class) {
+                    builder.append((long) getter.invokeExact(object));
+                } else if (fieldType == boolean.class) {
+                    builder.append((boolean) getter.invokeExact(object));
+                } else if (fieldType == double.class) {
+                    builder.append((double) getter.invokeExact(object));
+                } else if (fieldType == char.class) {
+                    builder.append((char) getter.invokeExact(object));
+                } else if (fieldType == byte.class) {
+                    builder.append((byte) getter.invokeExact(object));
+                } else if (fieldType == short.class) {
+                    builder.append((short) getter.invokeExact(object));
+                } else {
+                    builder.append((float) getter.invokeExact(object));
+                }
+            } catch (IOException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        }
+
+        private void flushIfNecessary() throws IOException {
+            if (nonNull(output) && builder.length() >= FLUSH_THRESHOLD) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            if (nonNull(output) && builder.length() > 0) {
+                output.append(builder);
+                builder.setLength(0);
+            }
+        }
+    }
+}
@@ -15,26 +15,149 @@
 
 package ru.tinkoff.eclair.printer;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import ru.tinkoff.eclair.printer.processor.JsonMasker;
+
+import java.io.IOException;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
+ * Serializes values by {@link ObjectWriter}s cached per runtime class, so root serializers are resolved once per class.
+ *
  * @author Vyacheslav Klapatnyuk
  */
 public class JacksonPrinter extends Printer {
 
     private final ObjectMapper objectMapper;
+    private final ClassValue<ObjectWriter> writers = new ClassValue<ObjectWriter>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return objectMapper.writerFor(type);
+        }
+    };
+
+    private JsonMasker jsonMasker;
 
     public JacksonPrinter(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
     }
 
+    /**
+     * Creates printer with the copy of application {@link ObjectMapper} tuned for logging:
+     * no indentation, no default typing, no {@code null} properties, placeholder instead of cyclic references of beans
+     * and no failure on empty beans.
+     * Note: the original mapper stays untouched;
+     * subclasses of {@link ObjectMapper} not overriding {@link ObjectMapper#copy()} are used as is, without tuning.
+     */
+    public static JacksonPrinter newLoggingInstance(ObjectMapper objectMapper) {
+        ObjectMapper copy;
+        try {
+            copy = objectMapper.copy();
+        } catch (IllegalStateException e) {
+            return new JacksonPrinter(objectMapper);
+        }
+        return new JacksonPrinter(tuneForLogging(copy));
+    }
+
+    /**
+     * Creates printer like {@link #newLoggingInstance(ObjectMapper)} with the modifiers registered on the copy only,
+     * e.g. {@link MaskingSerializerModifier} to mask values while serializing.
+     *
+     * @throws IllegalArgumentException if the mapper is of subclass not overriding {@link ObjectMapper#copy()}
+     */
+    public static JacksonPrinter newLoggingInstance(ObjectMapper objectMapper, BeanSerializerModifier... modifiers) {
+        ObjectMapper copy = tuneForLogging(copy(objectMapper));
+        for (BeanSerializerModifier modifier : modifiers) {
+            copy.registerModule(new SimpleModule().setSerializerModifier(modifier));
+        }
+        return new JacksonPrinter(copy);
+    }
+
+    /**
+     * Creates printer like {@link #newLoggingInstance(ObjectMapper)} serializing only the bean properties or map entries
+     * on the specified paths, e.g. {@code id}, {@code status} or {@code customer.name}.
+     * Excluded parts of object graph are not walked, so large aggregates are printed in time of the projection.
+     *
+     * @throws IllegalArgumentException if the mapper is of subclass not overriding {@link ObjectMapper#copy()}
+     */
+    public static JacksonPrinter newProjectionInstance(ObjectMapper objectMapper, String... propertyPaths) {
+        ObjectMapper copy = tuneForLogging(copy(objectMapper));
+        return new JacksonPrinter(new ProjectionFilter(propertyPaths).applyTo(copy));
+    }
+
+    /**
+     * Unlike the tuning, the modifiers and the projection could not be skipped, since masking or filtering would be lost.
+     */
+    private static ObjectMapper copy(ObjectMapper objectMapper) {
+        try {
+            return objectMapper.copy();
+        } catch (IllegalStateException e) {
+            throw new IllegalArgumentException(
+                    "Could not copy ObjectMapper of class " + objectMapper.getClass().getName() + " not overriding copy()", e);
+        }
+    }
+
+    static ObjectMapper tuneForLogging(ObjectMapper objectMapper) {
+        return objectMapper
+                .disable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .disable(SerializationFeature.FAIL_ON_SELF_REFERENCES)
+                .disableDefaultTyping()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .registerModule(new SimpleModule().setSerializerModifier(new CyclicReferenceSerializerModifier()));
+    }
+
+    /**
+     * Masks values while serializing, without intermediate JSON text unlike the same masker used as post-processor.
+     * Note: intended for JSON mappers, tokens are masked as they are generated, so the length limit still applies.
+     */
+    public void setJsonMasker(JsonMasker jsonMasker) {
+        this.jsonMasker = jsonMasker;
+    }
+
     @Override
     protected String serialize(Object input) throws IllegalArgumentException {
+        if (nonNull(jsonMasker)) {
+            StringBuilder builder = new StringBuilder();
+            serialize(input, builder);
+            return builder.toString();
+        }
         try {
-            return objectMapper.writeValueAsString(input);
+            return getWriter(input.getClass()).writeValueAsString(input);
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException(e);
         }
     }
+
+    /**
+     * The output is never closed and is not completed by closing tokens if serialization fails.
+     * The generator is closed only after successful serialization to release its buffers.
+     */
+    @Override
+    protected void serialize(Object input, Appendable output) throws IllegalArgumentException {
+        try {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(AppendableWriter.of(output))
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            JsonGenerator target = isNull(jsonMasker) ? generator : jsonMasker.wrap(generator);
+            getWriter(input.getClass()).writeValue(target, input);
+            target.flush();
+            generator.close();
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private ObjectWriter getWriter(Class<?> clazz) {
+        return writers.get(clazz);
+    }
 }
@@ -15,27 +15,235 @@
 
 package ru.tinkoff.eclair.printer;
 
+import org.springframework.oxm.MarshallingFailureException;
 import org.springframework.oxm.XmlMappingException;
 import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.util.ReflectionUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import ru.tinkoff.eclair.printer.processor.DocumentPostProcessor;
+import ru.tinkoff.eclair.printer.processor.PrinterPostProcessor;
 
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.transform.Result;
+import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.stream.StreamResult;
-import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
+ * Marshals by {@link Jaxb2Marshaller#marshal} by default, which creates the new {@link Marshaller} for every call.
+ * If {@link #setMarshallerReuse(boolean)} is enabled, reuses per-thread {@link Marshaller}s created once by
+ * {@link Jaxb2Marshaller}'s own factory method, so its properties, schema, listener, adapters and event handler are applied.
+ * The factory method is protected {@code Jaxb2Marshaller#createMarshaller()} and is invoked reflectively, because
+ * the marshallers created from the public {@link javax.xml.bind.JAXBContext} lose that configuration.
+ * If the method is not found in the Spring version used, every call falls back to {@link Jaxb2Marshaller#marshal}.
+ * Presizes output buffers by running average of printed lengths per class, at most by {@link #MAX_ESTIMATED_LENGTH},
+ * so the pooled message builders are not grown beyond the capacity they are retained with.
+ * Applies {@link DocumentPostProcessor}s to the marshalled DOM, so the value is serialized to string only once.
+ *
  * @author Vyacheslav Klapatnyuk
  */
 public class Jaxb2Printer extends Printer {
 
+    private static final int DEFAULT_ESTIMATED_LENGTH = 256;
+    private static final int MAX_ESTIMATED_LENGTH = 8 * 1024;
+
     private final Jaxb2Marshaller jaxb2Marshaller;
+    private final ThreadLocal<MarshallerHolder> marshallerHolder = ThreadLocal.withInitial(MarshallerHolder::new);
+    private final ClassValue<ClassStats> classStats = new ClassValue<ClassStats>() {
+        @Override
+        protected ClassStats computeValue(Class<?> type) {
+            return new ClassStats();
+        }
+    };
+
+    private boolean marshallerReuse;
 
     public Jaxb2Printer(Jaxb2Marshaller jaxb2Marshaller) {
         this.jaxb2Marshaller = jaxb2Marshaller;
     }
 
+    /**
+     * Enables reuse of per-thread marshallers instead of the new one for every printing.
+     * Note: the marshallers are configured once, so {@link Jaxb2Marshaller} should not be reconfigured after printing.
+     */
+    public Jaxb2Printer setMarshallerReuse(boolean marshallerReuse) {
+        this.marshallerReuse = marshallerReuse;
+        return this;
+    }
+
+    public boolean isMarshallerReuse() {
+        return marshallerReuse;
+    }
+
     @Override
     protected String serialize(Object input) throws XmlMappingException {
-        StringWriter writer = new StringWriter();
-        jaxb2Marshaller.marshal(input, new StreamResult(writer));
-        return writer.toString();
+        StringBuilder builder = new StringBuilder(getEstimatedLength(input.getClass()));
+        serialize(input, builder);
+        return builder.toString();
+    }
+
+    @Override
+    protected void serialize(Object input, Appendable output) throws XmlMappingException {
+        Class<?> clazz = input.getClass();
+        StringBuilder builder = output instanceof StringBuilder ? (StringBuilder) output : null;
+        int length = 0;
+        if (nonNull(builder)) {
+            length = builder.length();
+            builder.ensureCapacity(Math.min(length + getEstimatedLength(clazz), MAX_ESTIMATED_LENGTH));
+        }
+        marshal(input, new StreamResult(AppendableWriter.of(output)));
+        if (nonNull(builder)) {
+            updateEstimatedLength(clazz, builder.length() - length);
+        }
+    }
+
+    /**
+     * Post-processors working with DOM are applied to the tree marshalled directly, without parsing of serialized string.
+     * Documents with namespaces are post-processed as strings, because processors expect namespace-unaware DOM.
+     */
+    @Override
+    protected void serialize(Object input, Appendable output, List<PrinterPostProcessor> postProcessors) throws XmlMappingException {
+        Class<?> clazz = input instanceof JAXBElement ? ((JAXBElement<?>) input).getDeclaredType() : input.getClass();
+        ClassStats stats = classStats.get(clazz);
+        if (isDocumentPostProcessing(postProcessors) && !stats.namespaced) {
+            DOMResult result = new DOMResult();
+            marshal(input, result);
+            Document document = (Document) result.getNode();
+            if (!hasNamespaces(document.getDocumentElement())) {
+                // as declared by marshaller in serialized string
+                document.setXmlStandalone(true);
+                DocumentPostProcessor documentPostProcessor = null;
+                for (PrinterPostProcessor postProcessor : postProcessors) {
+                    documentPostProcessor = (DocumentPostProcessor) postProcessor;
+                    documentPostProcessor.process(document);
+                }
+                documentPostProcessor.write(document, AppendableWriter.of(output));
+                return;
+            }
+            stats.namespaced = true;
+        }
+        super.serialize(input, output, postProcessors);
+    }
+
+    private static boolean isDocumentPostProcessing(List<PrinterPostProcessor> postProcessors) {
+        for (PrinterPostProcessor postProcessor : postProcessors) {
+            if (!(postProcessor instanceof DocumentPostProcessor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasNamespaces(Element element) {
+        if (nonNull(element.getNamespaceURI())) {
+            return true;
+        }
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            if (nonNull(attributes.item(i).getNamespaceURI())) {
+                return true;
+            }
+        }
+        for (Node child = element.getFirstChild(); nonNull(child); child = child.getNextSibling()) {
+            if (child instanceof Element && hasNamespaces((Element) child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void marshal(Object input, Result result) throws XmlMappingException {
+        if (!marshallerReuse || isNull(CreateMarshallerMethod.METHOD)) {
+            jaxb2Marshaller.marshal(input, result);
+            return;
+        }
+        MarshallerHolder holder = marshallerHolder.get();
+        if (holder.inUse) {
+            jaxb2Marshaller.marshal(input, result);
+            return;
+        }
+        try {
+            Marshaller marshaller = holder.marshaller;
+            if (isNull(marshaller)) {
+                marshaller = createMarshaller();
+                holder.marshaller = marshaller;
+            }
+            holder.inUse = true;
+            marshaller.marshal(input, result);
+        } catch (JAXBException e) {
+            throw new MarshallingFailureException("JAXB marshalling exception", e);
+        } finally {
+            holder.inUse = false;
+        }
+    }
+
+    /**
+     * {@link Jaxb2Marshaller} configures the marshallers by the protected factory method only.
+     */
+    private Marshaller createMarshaller() {
+        return (Marshaller) ReflectionUtils.invokeMethod(CreateMarshallerMethod.METHOD, jaxb2Marshaller);
+    }
+
+    int getEstimatedLength(Class<?> clazz) {
+        int estimatedLength = classStats.get(clazz).estimatedLength;
+        return estimatedLength < 0 ? DEFAULT_ESTIMATED_LENGTH : estimatedLength;
+    }
+
+    /**
+     * Exponential moving average, races between threads just lose some samples.
+     */
+    private void updateEstimatedLength(Class<?> clazz, int length) {
+        ClassStats stats = classStats.get(clazz);
+        int estimatedLength = stats.estimatedLength;
+        int average = estimatedLength < 0 ? length : estimatedLength + (length - estimatedLength) / 8;
+        stats.estimatedLength = Math.min(average, MAX_ESTIMATED_LENGTH);
+    }
+
+    /**
+     * Marshaller is not thread-safe and could be used recursively, e.g. by an adapter printing another value.
+     */
+    private static class MarshallerHolder {
+
+        private Marshaller marshaller;
+        private boolean inUse;
+    }
+
+    /**
+     * Held by {@link ClassValue}, so printed classes and their class loaders are not retained by the printer.
+     */
+    private static class ClassStats {
+
+        private volatile int estimatedLength = -1;
+        private volatile boolean namespaced;
+    }
+
+    /**
+     * Lazy holder, so the protected method is looked up only when the marshaller reuse is enabled.
+     */
+    private static class CreateMarshallerMethod {
+
+        private static final Method METHOD = findMethod();
+
+        private static Method findMethod() {
+            Method method = ReflectionUtils.findMethod(Jaxb2Marshaller.class, "createMarshaller");
+            if (isNull(method)) {
+                return null;
+            }
+            try {
+                ReflectionUtils.makeAccessible(method);
+                return method;
+            } catch (SecurityException e) {
+                return null;
+            }
+        }
     }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Passes at most {@code maxLength} chars to the target and aborts any further writing by {@link LimitExceededException}.
+ * Note: serializers usually wrap the exception, so {@link #isExceeded()} should be checked instead of catching it.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+final class LengthLimitedWriter extends Writer {
+
+    static final int UNKNOWN_LENGTH = -1;
+
+    private final Writer target;
+    private final int maxLength;
+    private int length;
+    private boolean exceeded;
+    private int originalLength = UNKNOWN_LENGTH;
+
+    LengthLimitedWriter(Appendable target, int maxLength) {
+        this.target = AppendableWriter.of(target);
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Writes the last chunk of value, so the original length is known if the limit is exceeded.
+     */
+    void writeLast(String string) throws IOException {
+        if (!exceeded) {
+            originalLength = length + string.length();
+        }
+        write(string, 0, string.length());
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        checkAvailable(1);
+        target.write(c);
+        length++;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        int available = checkAvailable(len);
+        target.write(cbuf, off, Math.min(len, available));
+        exceedIfNecessary(len, available);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        int available = checkAvailable(len);
+        target.write(str, off, Math.min(len, available));
+        exceedIfNecessary(len, available);
+    }
+
+    private int checkAvailable(int len) {
+        if (exceeded) {
+            throw LimitExceededException.INSTANCE;
+        }
+        int available = maxLength - length;
+        if (available <= 0 && len > 0) {
+            exceeded = true;
+            throw LimitExceededException.INSTANCE;
+        }
+        return available;
+    }
+
+    private void exceedIfNecessary(int len, int available) {
+        if (len > available) {
+            length = maxLength;
+            exceeded = true;
+            throw LimitExceededException.INSTANCE;
+        }
+        length += len;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    boolean isExceeded() {
+        return exceeded;
+    }
+
+    /**
+     * @return length of the whole value or {@link #UNKNOWN_LENGTH} if writing was aborted before its end
+     */
+    int getOriginalLength() {
+        return originalLength;
+    }
+
+    /**
+     * Preallocated and stackless: thrown once per truncated value only to unwind the serializer.
+     */
+    static final class LimitExceededException extends RuntimeException {
+
+        private static final LimitExceededException INSTANCE = new LimitExceededException();
+
+        private LimitExceededException() {
+            super("Max length exceeded", null, false, false);
+        }
+    }
+}
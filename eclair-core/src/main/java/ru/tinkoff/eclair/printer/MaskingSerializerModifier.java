@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Replaces values of the selected bean properties by mask during serialization,
+ * so the original values are neither read nor printed.
+ * Properties are selected by annotation, name or type (including subtypes).
+ * Note: property selection is resolved once per bean class, Jackson caches the resulting serializers;
+ * should be registered only on the copy of application {@code ObjectMapper},
+ * e.g. by {@link JacksonPrinter#newLoggingInstance(com.fasterxml.jackson.databind.ObjectMapper, BeanSerializerModifier...)}.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public class MaskingSerializerModifier extends BeanSerializerModifier {
+
+    private final List<Class<? extends Annotation>> annotations = new ArrayList<>();
+    private final Set<String> propertyNames = new HashSet<>();
+    private final List<Class<?>> types = new ArrayList<>();
+
+    private final String replacement;
+
+    /**
+     * @param replacement mask of the selected values, {@code null} to print {@code null} instead
+     *                    or to skip the property if {@code null} values are not included
+     */
+    public MaskingSerializerModifier(String replacement) {
+        this.replacement = replacement;
+    }
+
+    public MaskingSerializerModifier addAnnotation(Class<? extends Annotation> annotation) {
+        annotations.add(annotation);
+        return this;
+    }
+
+    public MaskingSerializerModifier addPropertyName(String propertyName) {
+        propertyNames.add(propertyName);
+        return this;
+    }
+
+    public MaskingSerializerModifier addType(Class<?> type) {
+        types.add(type);
+        return this;
+    }
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config,
+                                                     BeanDescription beanDesc,
+                                                     List<BeanPropertyWriter> beanProperties) {
+        for (int i = 0; i < beanProperties.size(); i++) {
+            BeanPropertyWriter writer = beanProperties.get(i);
+            if (isMasked(writer)) {
+                beanProperties.set(i, new MaskingPropertyWriter(writer, replacement));
+            }
+        }
+        return beanProperties;
+    }
+
+    private boolean isMasked(BeanPropertyWriter writer) {
+        if (propertyNames.contains(writer.getName())) {
+            return true;
+        }
+        for (Class<? extends Annotation> annotation : annotations) {
+            if (nonNull(writer.getAnnotation(annotation))) {
+                return true;
+            }
+        }
+        Class<?> propertyType = writer.getType().getRawClass();
+        for (Class<?> type : types) {
+            if (type.isAssignableFrom(propertyType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes mask instead of the value without invoking the accessor.
+     * Note: stays the same for {@code @JsonUnwrapped} properties, so the value is not unwrapped but masked as a whole.
+     */
+    private static class MaskingPropertyWriter extends BeanPropertyWriter {
+
+        private final String replacement;
+
+        private MaskingPropertyWriter(BeanPropertyWriter base, String replacement) {
+            super(base);
+            this.replacement = replacement;
+        }
+
+        private MaskingPropertyWriter(MaskingPropertyWriter base, PropertyName name) {
+            super(base, name);
+            this.replacement = base.replacement;
+        }
+
+        @Override
+        protected BeanPropertyWriter _new(PropertyName newName) {
+            return new MaskingPropertyWriter(this, newName);
+        }
+
+        @Override
+        public BeanPropertyWriter unwrappingWriter(NameTransformer unwrapper) {
+            return this;
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws IOException {
+            if (isNull(replacement) && _suppressNulls) {
+                return;
+            }
+            gen.writeFieldName(_name);
+            writeMask(gen);
+        }
+
+        @Override
+        public void serializeAsElement(Object bean, JsonGenerator gen, SerializerProvider prov) throws IOException {
+            writeMask(gen);
+        }
+
+        private void writeMask(JsonGenerator gen) throws IOException {
+            if (isNull(replacement)) {
+                gen.writeNull();
+            } else {
+                gen.writeString(replacement);
+            }
+        }
+    }
+}
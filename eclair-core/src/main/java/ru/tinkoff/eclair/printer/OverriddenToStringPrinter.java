@@ -22,8 +22,19 @@ import org.springframework.util.ReflectionUtils;
  */
 public class OverriddenToStringPrinter extends ToStringPrinter {
 
+    private static final ClassValue<Boolean> supported = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isSupported(type);
+        }
+    };
+
     @Override
     public boolean supports(Class<?> clazz) {
+        return supported.get(clazz);
+    }
+
+    private static boolean isSupported(Class<?> clazz) {
         if (clazz.isPrimitive()) {
             return true;
         }
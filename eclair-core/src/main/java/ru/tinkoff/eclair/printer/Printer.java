@@ -15,19 +15,54 @@
 
 package ru.tinkoff.eclair.printer;
 
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 import ru.tinkoff.eclair.printer.processor.PrinterPostProcessor;
 import ru.tinkoff.eclair.printer.processor.PrinterPreProcessor;
+import ru.tinkoff.eclair.printer.resolver.PrinterResolver;
+import ru.tinkoff.eclair.printer.snapshot.PrintedSnapshot;
+import ru.tinkoff.eclair.printer.snapshot.SnapshotStrategy;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.isNull;
+
 /**
  * @author Vyacheslav Klapatnyuk
  */
 public abstract class Printer {
 
+    private static final String TRUNCATION_MARKER = "...[truncated]";
+    private static final String TRUNCATION_MARKER_FORMAT = "...[truncated, %d chars]";
+
+    /**
+     * Whether the printer class overrides {@link #print(Object)}, generated proxy classes are not considered overriding.
+     */
+    private static final ClassValue<Boolean> stringPrinters = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            Class<?> userClass = ClassUtils.getUserClass(type);
+            return ReflectionUtils.findMethod(userClass, "print", Object.class).getDeclaringClass() != Printer.class;
+        }
+    };
+
     private final List<PrinterPreProcessor> preProcessors = new ArrayList<>();
     private final List<PrinterPostProcessor> postProcessors = new ArrayList<>();
+    private final List<PrinterPostProcessor> unmodifiablePostProcessors = unmodifiableList(postProcessors);
+
+    /**
+     * Non-positive value means no limit.
+     */
+    private int maxLength;
+
+    /**
+     * {@code null} means the strategy of the logger.
+     */
+    private SnapshotStrategy snapshotStrategy;
 
     public boolean supports(Class<?> clazz) {
         return true;
@@ -44,18 +79,140 @@ public abstract class Printer {
     }
 
     /**
+     * Limits the length of printed values. Serialization of longer values is aborted as soon as the limit is reached,
+     * the output is ended by truncation marker with the original length if it is known.
+     * Note: the limit is applied after post-processing, the marker itself is not counted.
+     *
+     * @param maxLength max count of printed chars, non-positive value means no limit
+     */
+    public Printer setMaxLength(int maxLength) {
+        this.maxLength = maxLength;
+        return this;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Defines how to capture the values printed by this printer if the logging is deferred.
+     *
+     * @param snapshotStrategy strategy overriding the one of the logger, {@code null} to use the logger's one
+     */
+    public Printer setSnapshotStrategy(SnapshotStrategy snapshotStrategy) {
+        this.snapshotStrategy = snapshotStrategy;
+        return this;
+    }
+
+    public SnapshotStrategy getSnapshotStrategy() {
+        return snapshotStrategy;
+    }
+
+    /**
+     * Captures the value to be printed later by this printer.
+     * Note: if the strategy fails, the value is printed by the default printer at once, so the invocation is not affected.
+     *
+     * @param input           never {@code null}
+     * @param defaultStrategy used if the printer does not define its own strategy
+     * @return value safe to print after the invocation
+     */
+    public Object snapshot(Object input, SnapshotStrategy defaultStrategy) {
+        SnapshotStrategy strategy = isNull(snapshotStrategy) ? defaultStrategy : snapshotStrategy;
+        try {
+            return strategy.capture(input, this);
+        } catch (RuntimeException e) {
+            return new PrintedSnapshot(PrinterResolver.defaultPrinter.print(input));
+        }
+    }
+
+    /**
+     * Values captured by {@link PrintedSnapshot} are returned as is, since they are printed already.
+     *
      * @param input never {@code null}
      * @throws RuntimeException Any thrown exceptions should be handled by invoker.
      */
     public String print(Object input) throws RuntimeException {
+        if (input instanceof PrintedSnapshot) {
+            return ((PrintedSnapshot) input).getValue();
+        }
+        boolean postProcessing = !postProcessors.isEmpty();
+        boolean truncating = maxLength > 0;
+        if (postProcessing || truncating) {
+            StringBuilder builder = new StringBuilder();
+            printDirectly(input, builder);
+            return builder.toString();
+        }
         for (PrinterPreProcessor preProcessor : preProcessors) {
             input = preProcessor.process(input);
         }
+        return serialize(input);
+    }
+
+    /**
+     * Prints directly into the output, post-processors are applied by {@link #serialize(Object, Appendable, List)}.
+     * If {@link #print(Object)} is overridden by subclass, appends its result instead, so the override is respected.
+     * Values captured by {@link PrintedSnapshot} are appended as is.
+     * Note: in case of exception the output could contain partially printed value.
+     *
+     * @param input  never {@code null}
+     * @param output target of printing
+     * @throws RuntimeException Any thrown exceptions should be handled by invoker.
+     */
+    public void print(Object input, Appendable output) throws RuntimeException {
+        if (input instanceof PrintedSnapshot) {
+            append(output, ((PrintedSnapshot) input).getValue());
+            return;
+        }
+        if (stringPrinters.get(getClass())) {
+            append(output, print(input));
+            return;
+        }
+        printDirectly(input, output);
+    }
+
+    private void printDirectly(Object input, Appendable output) {
+        for (PrinterPreProcessor preProcessor : preProcessors) {
+            input = preProcessor.process(input);
+        }
+        if (maxLength <= 0) {
+            serializePostProcessed(input, output);
+            return;
+        }
+        LengthLimitedWriter writer = new LengthLimitedWriter(output, maxLength);
+        try {
+            serializePostProcessed(input, writer);
+        } catch (RuntimeException e) {
+            if (!writer.isExceeded()) {
+                throw e;
+            }
+        }
+        if (writer.isExceeded()) {
+            append(output, buildTruncationMarker(writer.getOriginalLength()));
+        }
+    }
+
+    private void serializePostProcessed(Object input, Appendable output) {
+        if (postProcessors.isEmpty()) {
+            serialize(input, output);
+        } else {
+            serialize(input, output, unmodifiablePostProcessors);
+        }
+    }
+
+    /**
+     * Serializes with post-processing, invoked only if there are post-processors.
+     * Note: Could be overridden to apply the post-processors in a printer-defined way, e.g. while serializing,
+     * by default applies them to the result of {@link #serialize(Object)}.
+     *
+     * @param postProcessors not empty list of the post-processors in the order of addition
+     * @throws RuntimeException Any thrown exceptions should be handled by invoker.
+     */
+    protected void serialize(Object input, Appendable output, List<PrinterPostProcessor> postProcessors) throws RuntimeException {
         String string = serialize(input);
         for (PrinterPostProcessor postProcessor : postProcessors) {
             string = postProcessor.process(string);
         }
-        return string;
+        appendLast(output, string);
     }
 
     /**
@@ -64,4 +221,44 @@ public abstract class Printer {
      * @throws RuntimeException Any thrown exceptions should be handled by invoker.
      */
     protected abstract String serialize(Object input) throws RuntimeException;
+
+    /**
+     * Streaming counterpart of {@link #serialize(Object)}.
+     * Note: Could be overridden to write into the output directly, by default appends the result of {@link #serialize(Object)}.
+     *
+     * @throws RuntimeException Any thrown exceptions should be handled by invoker.
+     */
+    protected void serialize(Object input, Appendable output) throws RuntimeException {
+        appendLast(output, serialize(input));
+    }
+
+    /**
+     * Lets the length limited output know the whole length of the string.
+     */
+    private static void appendLast(Appendable output, String string) {
+        if (output instanceof LengthLimitedWriter) {
+            try {
+                ((LengthLimitedWriter) output).writeLast(string);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+        append(output, string);
+    }
+
+    private static String buildTruncationMarker(int originalLength) {
+        if (originalLength == LengthLimitedWriter.UNKNOWN_LENGTH) {
+            return TRUNCATION_MARKER;
+        }
+        return String.format(TRUNCATION_MARKER_FORMAT, originalLength);
+    }
+
+    static void append(Appendable output, CharSequence string) {
+        try {
+            output.append(string);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
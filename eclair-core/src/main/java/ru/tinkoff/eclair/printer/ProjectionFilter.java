@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Serializes only bean properties on the configured paths, e.g. {@code id} or {@code customer.name}.
+ * Array and collection elements are passed transparently, so {@code items.amount} selects {@code amount} of every item.
+ * Path ending selects the whole value. Excluded properties are not even read.
+ * Note: applied to every bean and map class, map keys are projected like property names,
+ * so {@code attributes.code} selects the only entry with key {@code code} of {@code attributes} map.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+final class ProjectionFilter extends SimpleBeanPropertyFilter {
+
+    private static final String FILTER_ID = ProjectionFilter.class.getName();
+
+    private final Node root = new Node();
+
+    ProjectionFilter(String... propertyPaths) {
+        for (String propertyPath : propertyPaths) {
+            Node node = root;
+            for (String propertyName : propertyPath.trim().split("\\.")) {
+                node = node.children.computeIfAbsent(propertyName, name -> new Node());
+            }
+            node.whole = true;
+        }
+    }
+
+    /**
+     * Registers the filter for all the bean and map classes of the mapper.
+     * Note: should be applied to the copy of application {@link ObjectMapper} only.
+     */
+    ObjectMapper applyTo(ObjectMapper objectMapper) {
+        AnnotationIntrospector introspector = objectMapper.getSerializationConfig().getAnnotationIntrospector();
+        return objectMapper
+                .setAnnotationIntrospector(AnnotationIntrospector.pair(new FilterIdIntrospector(), introspector))
+                .setFilterProvider(new SimpleFilterProvider().addFilter(FILTER_ID, this));
+    }
+
+    @Override
+    public void serializeAsField(Object pojo,
+                                 JsonGenerator generator,
+                                 SerializerProvider provider,
+                                 PropertyWriter writer) throws Exception {
+        Node node = resolve(generator.getOutputContext());
+        if (nonNull(node) && node.includes(writer.getName())) {
+            writer.serializeAsField(pojo, generator, provider);
+        } else if (!generator.canOmitFields()) {
+            writer.serializeAsOmittedField(pojo, generator, provider);
+        }
+    }
+
+    /**
+     * Resolves node of the bean being serialized by names of the enclosing properties, without allocations.
+     */
+    private Node resolve(JsonStreamContext context) {
+        JsonStreamContext parent = context.getParent();
+        if (isNull(parent)) {
+            return root;
+        }
+        Node node = resolve(parent);
+        if (isNull(node) || !parent.inObject()) {
+            return node;
+        }
+        return node.child(parent.getCurrentName());
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        private boolean whole;
+
+        private boolean includes(String name) {
+            return whole || children.containsKey(name);
+        }
+
+        private Node child(String name) {
+            return whole ? this : children.get(name);
+        }
+    }
+
+    private static final class FilterIdIntrospector extends NopAnnotationIntrospector {
+
+        @Override
+        public Object findFilterId(Annotated annotated) {
+            return annotated instanceof AnnotatedClass ? FILTER_ID : null;
+        }
+    }
+}
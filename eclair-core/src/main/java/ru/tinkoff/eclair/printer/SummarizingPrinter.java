@@ -0,0 +1,275 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.RandomAccess;
+
+/**
+ * Prints arrays, {@link Collection}s, {@link Map}s and {@link ByteBuffer}s as their size with the first
+ * {@link #getHeadSize()} and the last {@link #getTailSize()} elements only, e.g. {@code ArrayList(100000)[1, 2, 3, 4, 5, ..., 99999, 100000]}.
+ * Printing takes time proportional to the count of printed elements, not to the size of the value.
+ * The tail is printed for arrays, {@link RandomAccess} lists, {@link Deque}s, {@link NavigableSet}s, {@link NavigableMap}s
+ * and {@link ByteBuffer}s, other containers are printed with the head only to avoid iterating all the elements.
+ * Nested containers are summarized in the same way, deeper than {@link #getMaxDepth()} only their size is printed.
+ * Note: remaining bytes of {@link ByteBuffer} are printed, its position is not changed.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public class SummarizingPrinter extends Printer {
+
+    public static final int DEFAULT_HEAD_SIZE = 5;
+    public static final int DEFAULT_TAIL_SIZE = 2;
+    public static final int DEFAULT_MAX_DEPTH = 2;
+
+    private static final String SEPARATOR = ", ";
+    private static final String ELLIPSIS = "...";
+
+    private int headSize = DEFAULT_HEAD_SIZE;
+    private int tailSize = DEFAULT_TAIL_SIZE;
+    private int maxDepth = DEFAULT_MAX_DEPTH;
+
+    public SummarizingPrinter setHeadSize(int headSize) {
+        this.headSize = headSize;
+        return this;
+    }
+
+    public int getHeadSize() {
+        return headSize;
+    }
+
+    public SummarizingPrinter setTailSize(int tailSize) {
+        this.tailSize = tailSize;
+        return this;
+    }
+
+    public int getTailSize() {
+        return tailSize;
+    }
+
+    /**
+     * @param maxDepth depth of nested containers to print elements of, the printed container itself has depth {@code 1}
+     */
+    public SummarizingPrinter setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return isContainer(clazz);
+    }
+
+    @Override
+    protected String serialize(Object input) {
+        StringBuilder builder = new StringBuilder();
+        print(input, builder, 1);
+        return builder.toString();
+    }
+
+    @Override
+    protected void serialize(Object input, Appendable output) {
+        print(input, output, 1);
+    }
+
+    private static boolean isContainer(Class<?> clazz) {
+        return clazz.isArray() || Collection.class.isAssignableFrom(clazz) || Map.class.isAssignableFrom(clazz) ||
+                ByteBuffer.class.isAssignableFrom(clazz);
+    }
+
+    private void print(Object value, Appendable output, int depth) {
+        if (value == null || !isContainer(value.getClass())) {
+            append(output, String.valueOf(value));
+            return;
+        }
+        if (value.getClass().isArray()) {
+            printArray(value, output, depth);
+        } else if (value instanceof ByteBuffer) {
+            printByteBuffer((ByteBuffer) value, output, depth);
+        } else if (value instanceof Map) {
+            printMap((Map<?, ?>) value, output, depth);
+        } else {
+            printCollection((Collection<?>) value, output, depth);
+        }
+    }
+
+    private void printArray(Object array, Appendable output, int depth) {
+        int length = Array.getLength(array);
+        append(output, array.getClass().getSimpleName() + "(" + length + ")");
+        if (depth > maxDepth) {
+            return;
+        }
+        append(output, "[");
+        int head = Math.min(length, headSize);
+        for (int i = 0; i < head; i++) {
+            appendSeparator(output, i);
+            print(Array.get(array, i), output, depth + 1);
+        }
+        int tail = Math.min(length - head, tailSize);
+        appendSkipped(output, head, length - head - tail);
+        for (int i = length - tail; i < length; i++) {
+            appendSeparator(output, i);
+            print(Array.get(array, i), output, depth + 1);
+        }
+        append(output, "]");
+    }
+
+    private void printByteBuffer(ByteBuffer buffer, Appendable output, int depth) {
+        int position = buffer.position();
+        int size = buffer.remaining();
+        append(output, buffer.getClass().getSimpleName() + "(" + size + ")");
+        if (depth > maxDepth) {
+            return;
+        }
+        append(output, "[");
+        int head = Math.min(size, headSize);
+        for (int i = 0; i < head; i++) {
+            appendSeparator(output, i);
+            append(output, Byte.toString(buffer.get(position + i)));
+        }
+        int tail = Math.min(size - head, tailSize);
+        appendSkipped(output, head, size - head - tail);
+        for (int i = size - tail; i < size; i++) {
+            appendSeparator(output, i);
+            append(output, Byte.toString(buffer.get(position + i)));
+        }
+        append(output, "]");
+    }
+
+    private void printCollection(Collection<?> collection, Appendable output, int depth) {
+        int size = collection.size();
+        append(output, collection.getClass().getSimpleName() + "(" + size + ")");
+        if (depth > maxDepth) {
+            return;
+        }
+        append(output, "[");
+        int head = 0;
+        Iterator<?> iterator = collection.iterator();
+        for (; head < headSize && iterator.hasNext(); head++) {
+            appendSeparator(output, head);
+            print(iterator.next(), output, depth + 1);
+        }
+        Iterator<?> tailIterator = tailIterator(collection, size, head);
+        if (tailIterator == null) {
+            appendSkipped(output, head, size - head);
+        } else {
+            int tail = Math.min(size - head, tailSize);
+            appendSkipped(output, head, size - head - tail);
+            Object[] elements = collectReversed(tailIterator, tail);
+            for (int i = 0; i < tail; i++) {
+                appendSeparator(output, size - tail + i);
+                print(elements[i], output, depth + 1);
+            }
+        }
+        append(output, "]");
+    }
+
+    private void printMap(Map<?, ?> map, Appendable output, int depth) {
+        int size = map.size();
+        append(output, map.getClass().getSimpleName() + "(" + size + ")");
+        if (depth > maxDepth) {
+            return;
+        }
+        append(output, "{");
+        int head = 0;
+        Iterator<? extends Map.Entry<?, ?>> iterator = map.entrySet().iterator();
+        for (; head < headSize && iterator.hasNext(); head++) {
+            appendSeparator(output, head);
+            printEntry(iterator.next(), output, depth);
+        }
+        if (map instanceof NavigableMap && size > head) {
+            int tail = Math.min(size - head, tailSize);
+            appendSkipped(output, head, size - head - tail);
+            Object[] entries = collectReversed(((NavigableMap<?, ?>) map).descendingMap().entrySet().iterator(), tail);
+            for (int i = 0; i < tail; i++) {
+                appendSeparator(output, size - tail + i);
+                printEntry((Map.Entry<?, ?>) entries[i], output, depth);
+            }
+        } else {
+            appendSkipped(output, head, size - head);
+        }
+        append(output, "}");
+    }
+
+    private void printEntry(Map.Entry<?, ?> entry, Appendable output, int depth) {
+        print(entry.getKey(), output, depth + 1);
+        append(output, "=");
+        print(entry.getValue(), output, depth + 1);
+    }
+
+    /**
+     * @return iterator over the collection from the last element backwards or {@code null} if it is not cheap to get
+     */
+    private Iterator<?> tailIterator(Collection<?> collection, int size, int head) {
+        if (size <= head) {
+            return null;
+        }
+        if (collection instanceof Deque) {
+            return ((Deque<?>) collection).descendingIterator();
+        }
+        if (collection instanceof NavigableSet) {
+            return ((NavigableSet<?>) collection).descendingIterator();
+        }
+        if (collection instanceof List && collection instanceof RandomAccess) {
+            ListIterator<?> listIterator = ((List<?>) collection).listIterator(size);
+            return new Iterator<Object>() {
+                @Override
+                public boolean hasNext() {
+                    return listIterator.hasPrevious();
+                }
+
+                @Override
+                public Object next() {
+                    return listIterator.previous();
+                }
+            };
+        }
+        return null;
+    }
+
+    private Object[] collectReversed(Iterator<?> reverseIterator, int count) {
+        Object[] elements = new Object[count];
+        for (int i = count - 1; i >= 0 && reverseIterator.hasNext(); i--) {
+            elements[i] = reverseIterator.next();
+        }
+        return elements;
+    }
+
+    private void appendSeparator(Appendable output, int index) {
+        if (index > 0) {
+            append(output, SEPARATOR);
+        }
+    }
+
+    private void appendSkipped(Appendable output, int printed, int skipped) {
+        if (skipped > 0) {
+            append(output, printed > 0 ? SEPARATOR + ELLIPSIS : ELLIPSIS);
+        }
+    }
+}
@@ -57,4 +57,15 @@ public class ToStringPrinter extends Printer {
         }
         return input.toString();
     }
+
+    @Override
+    protected void serialize(Object input, Appendable output) {
+        if (input instanceof String) {
+            append(output, "\"");
+            append(output, (String) input);
+            append(output, "\"");
+            return;
+        }
+        super.serialize(input, output);
+    }
 }
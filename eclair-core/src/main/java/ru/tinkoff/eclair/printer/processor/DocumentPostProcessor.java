@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer.processor;
+
+import org.w3c.dom.Document;
+
+import java.io.Writer;
+
+/**
+ * Post-processor of XML, able to process DOM built by printer directly instead of parsing serialized string.
+ * Note: the result of {@link #process(Document)} and {@link #write(Document, Writer)} by the last processor
+ * should be equal to the result of {@link #process(String)}.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public interface DocumentPostProcessor extends PrinterPostProcessor {
+
+    /**
+     * @param document never {@code null}, without namespaces, could be modified in place
+     */
+    void process(Document document);
+
+    /**
+     * Serializes the document the same way as {@link #process(String)} does.
+     */
+    void write(Document document, Writer writer);
+}
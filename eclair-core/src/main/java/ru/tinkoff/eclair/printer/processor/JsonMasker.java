@@ -0,0 +1,533 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer.processor;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Masks JSON values in a single pass over Jackson token stream without building a tree.
+ * Values are selected by JSON Pointer, e.g. {@code /user/password} or {@code /users/0/password},
+ * or by field name matched at any depth, e.g. {@code password}.
+ * Masked objects and arrays are replaced entirely.
+ * Note: the output is compact, number literals are kept as is.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public class JsonMasker implements PrinterPostProcessor {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private final Set<String> fieldNames = new HashSet<>();
+    private final List<Pointer> pointers = new ArrayList<>();
+
+    private String replacement;
+
+    public JsonMasker(String... paths) {
+        for (String path : paths) {
+            if (path.startsWith("/")) {
+                pointers.add(new Pointer(path));
+            } else {
+                fieldNames.add(path);
+            }
+        }
+    }
+
+    @Override
+    public String process(String string) {
+        if (fieldNames.isEmpty() && pointers.isEmpty()) {
+            return string;
+        }
+        StringWriter writer = new StringWriter(string.length());
+        try (JsonParser parser = jsonFactory.createParser(string);
+             JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            mask(parser, generator);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Copies all the tokens of the parser to the generator replacing the selected values.
+     */
+    public void mask(JsonParser parser, JsonGenerator generator) throws IOException {
+        JsonToken token;
+        while (nonNull(token = parser.nextToken())) {
+            if (token == JsonToken.FIELD_NAME || token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                generator.copyCurrentEvent(parser);
+                continue;
+            }
+            boolean structureStart = token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY;
+            JsonStreamContext context = structureStart ? parser.getParsingContext().getParent() : parser.getParsingContext();
+            if (isMasked(context, context.getCurrentIndex())) {
+                if (structureStart) {
+                    parser.skipChildren();
+                }
+                writeReplacement(generator);
+            } else if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                generator.writeNumber(parser.getText());
+            } else {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+    }
+
+    /**
+     * Wraps the generator to replace the selected values as they are written, so nothing is buffered.
+     */
+    public JsonGenerator wrap(JsonGenerator generator) {
+        if (fieldNames.isEmpty() && pointers.isEmpty()) {
+            return generator;
+        }
+        return new MaskingGenerator(generator);
+    }
+
+    /**
+     * @param index index of the value if the context is an array
+     */
+    private boolean isMasked(JsonStreamContext context, int index) {
+        if (context.inRoot()) {
+            return false;
+        }
+        if (context.inObject() && fieldNames.contains(context.getCurrentName())) {
+            return true;
+        }
+        for (Pointer pointer : pointers) {
+            if (pointer.matches(context, index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeReplacement(JsonGenerator generator) throws IOException {
+        if (isNull(replacement)) {
+            generator.writeNull();
+        } else {
+            generator.writeString(replacement);
+        }
+    }
+
+    public void setReplacement(String replacement) {
+        this.replacement = replacement;
+    }
+
+    /**
+     * JSON Pointer segments with array indexes parsed in advance.
+     */
+    private static class Pointer {
+
+        private final String[] names;
+        private final int[] indexes;
+
+        private Pointer(String pointer) {
+            this.names = pointer.substring(1).split("/", -1);
+            this.indexes = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = names[i].replace("~1", "/").replace("~0", "~");
+                indexes[i] = parseIndex(names[i]);
+            }
+        }
+
+        private static int parseIndex(String segment) {
+            if (segment.isEmpty() || segment.length() > 9 || (segment.length() > 1 && segment.charAt(0) == '0')) {
+                return -1;
+            }
+            for (int i = 0; i < segment.length(); i++) {
+                if (!Character.isDigit(segment.charAt(i))) {
+                    return -1;
+                }
+            }
+            return Integer.parseInt(segment);
+        }
+
+        /**
+         * Compares segments from the last one with the chain of parent contexts.
+         */
+        boolean matches(JsonStreamContext context, int index) {
+            for (int i = names.length - 1; i >= 0; i--) {
+                if (context.inObject()) {
+                    if (!names[i].equals(context.getCurrentName())) {
+                        return false;
+                    }
+                } else if (context.inArray()) {
+                    if (indexes[i] != index) {
+                        return false;
+                    }
+                } else {
+                    return false;
+                }
+                context = context.getParent();
+                index = context.getCurrentIndex();
+            }
+            return context.inRoot();
+        }
+    }
+
+    /**
+     * Writes the replacement instead of a selected value and drops the tokens of a selected object or array.
+     * Output context of the delegate is consulted before each value: its array index is not advanced yet,
+     * so the index of the value to be written equals the count of the written entries.
+     */
+    private class MaskingGenerator extends JsonGeneratorDelegate {
+
+        /**
+         * Nesting depth inside a dropped object or array, zero if nothing is dropped.
+         */
+        private int skippedDepth;
+
+        private MaskingGenerator(JsonGenerator generator) {
+            super(generator, false);
+        }
+
+        /**
+         * @return {@code true} if the value should not be written to the delegate
+         */
+        private boolean maskValue() throws IOException {
+            if (skippedDepth > 0) {
+                return true;
+            }
+            JsonStreamContext context = delegate.getOutputContext();
+            if (isMasked(context, context.getEntryCount())) {
+                writeReplacement(delegate);
+                return true;
+            }
+            return false;
+        }
+
+        private boolean maskStart() throws IOException {
+            if (maskValue()) {
+                skippedDepth++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean maskEnd() {
+            if (skippedDepth > 0) {
+                skippedDepth--;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void writeStartArray() throws IOException {
+            if (!maskStart()) {
+                delegate.writeStartArray();
+            }
+        }
+
+        @Override
+        public void writeStartArray(int size) throws IOException {
+            if (!maskStart()) {
+                delegate.writeStartArray(size);
+            }
+        }
+
+        @Override
+        public void writeEndArray() throws IOException {
+            if (!maskEnd()) {
+                delegate.writeEndArray();
+            }
+        }
+
+        @Override
+        public void writeStartObject() throws IOException {
+            if (!maskStart()) {
+                delegate.writeStartObject();
+            }
+        }
+
+        @Override
+        public void writeStartObject(Object forValue) throws IOException {
+            if (!maskStart()) {
+                delegate.writeStartObject(forValue);
+            }
+        }
+
+        @Override
+        public void writeEndObject() throws IOException {
+            if (!maskEnd()) {
+                delegate.writeEndObject();
+            }
+        }
+
+        @Override
+        public void writeFieldName(String name) throws IOException {
+            if (skippedDepth == 0) {
+                delegate.writeFieldName(name);
+            }
+        }
+
+        @Override
+        public void writeFieldName(SerializableString name) throws IOException {
+            if (skippedDepth == 0) {
+                delegate.writeFieldName(name);
+            }
+        }
+
+        @Override
+        public void writeFieldId(long id) throws IOException {
+            if (skippedDepth == 0) {
+                delegate.writeFieldId(id);
+            }
+        }
+
+        @Override
+        public void writeOmittedField(String fieldName) throws IOException {
+            if (skippedDepth == 0) {
+                delegate.writeOmittedField(fieldName);
+            }
+        }
+
+        @Override
+        public void writeArray(int[] array, int offset, int length) throws IOException {
+            if (!maskValue()) {
+                delegate.writeArray(array, offset, length);
+            }
+        }
+
+        @Override
+        public void writeArray(long[] array, int offset, int length) throws IOException {
+            if (!maskValue()) {
+                delegate.writeArray(array, offset, length);
+            }
+        }
+
+        @Override
+        public void writeArray(double[] array, int offset, int length) throws IOException {
+            if (!maskValue()) {
+                delegate.writeArray(array, offset, length);
+            }
+        }
+
+        @Override
+        public void writeString(String text) throws IOException {
+            if (!maskValue()) {
+                delegate.writeString(text);
+            }
+        }
+
+        @Override
+        public void writeString(char[] text, int offset, int len) throws IOException {
+            if (!maskValue()) {
+                delegate.writeString(text, offset, len);
+            }
+        }
+
+        @Override
+        public void writeString(SerializableString text) throws IOException {
+            if (!maskValue()) {
+                delegate.writeString(text);
+            }
+        }
+
+        @Override
+        public void writeRawUTF8String(byte[] text, int offset, int length) throws IOException {
+            if (!maskValue()) {
+                delegate.writeRawUTF8String(text, offset, length);
+            }
+        }
+
+        @Override
+        public void writeUTF8String(byte[] text, int offset, int length) throws IOException {
+            if (!maskValue()) {
+                delegate.writeUTF8String(text, offset, length);
+            }
+        }
+
+        @Override
+        public void writeRaw(String text) throws IOException {
+            if (skippedDepth == 0) {
+                delegate.writeRaw(text);
+            }
+        }
+
+        @Override
+        public void writeRaw(String text, int offset, int len) throws IOException {
+            if (skippedDepth == 0) {
+                delegate.writeRaw(text, offset, len);
+            }
+        }
+
+        @Override
+        public void writeRaw(SerializableString raw) throws IOException {
+            if (skippedDepth == 0) {
+                delegate.writeRaw(raw);
+            }
+        }
+
+        @Override
+        public void writeRaw(char[] text, int offset, int len) throws IOException {
+            if (skippedDepth == 0) {
+                delegate.writeRaw(text, offset, len);
+            }
+        }
+
+        @Override
+        public void writeRaw(char c) throws IOException {
+            if (skippedDepth == 0) {
+                delegate.writeRaw(c);
+            }
+        }
+
+        @Override
+        public void writeRawValue(String text) throws IOException {
+            if (!maskValue()) {
+                delegate.writeRawValue(text);
+            }
+        }
+
+        @Override
+        public void writeRawValue(String text, int offset, int len) throws IOException {
+            if (!maskValue()) {
+                delegate.writeRawValue(text, offset, len);
+            }
+        }
+
+        @Override
+        public void writeRawValue(char[] text, int offset, int len) throws IOException {
+            if (!maskValue()) {
+                delegate.writeRawValue(text, offset, len);
+            }
+        }
+
+        @Override
+        public void writeBinary(Base64Variant b64variant, byte[] data, int offset, int len) throws IOException {
+            if (!maskValue()) {
+                delegate.writeBinary(b64variant, data, offset, len);
+            }
+        }
+
+        @Override
+        public int writeBinary(Base64Variant b64variant, InputStream data, int dataLength) throws IOException {
+            return maskValue() ? 0 : delegate.writeBinary(b64variant, data, dataLength);
+        }
+
+        @Override
+        public void writeNumber(short v) throws IOException {
+            if (!maskValue()) {
+                delegate.writeNumber(v);
+            }
+        }
+
+        @Override
+        public void writeNumber(int v) throws IOException {
+            if (!maskValue()) {
+                delegate.writeNumber(v);
+            }
+        }
+
+        @Override
+        public void writeNumber(long v) throws IOException {
+            if (!maskValue()) {
+                delegate.writeNumber(v);
+            }
+        }
+
+        @Override
+        public void writeNumber(BigInteger v) throws IOException {
+            if (!maskValue()) {
+                delegate.writeNumber(v);
+            }
+        }
+
+        @Override
+        public void writeNumber(double v) throws IOException {
+            if (!maskValue()) {
+                delegate.writeNumber(v);
+            }
+        }
+
+        @Override
+        public void writeNumber(float v) throws IOException {
+            if (!maskValue()) {
+                delegate.writeNumber(v);
+            }
+        }
+
+        @Override
+        public void writeNumber(BigDecimal v) throws IOException {
+            if (!maskValue()) {
+                delegate.writeNumber(v);
+            }
+        }
+
+        @Override
+        public void writeNumber(String encodedValue) throws IOException {
+            if (!maskValue()) {
+                delegate.writeNumber(encodedValue);
+            }
+        }
+
+        @Override
+        public void writeBoolean(boolean state) throws IOException {
+            if (!maskValue()) {
+                delegate.writeBoolean(state);
+            }
+        }
+
+        @Override
+        public void writeNull() throws IOException {
+            if (!maskValue()) {
+                delegate.writeNull();
+            }
+        }
+
+        @Override
+        public void writeObjectId(Object id) throws IOException {
+            if (skippedDepth == 0) {
+                delegate.writeObjectId(id);
+            }
+        }
+
+        @Override
+        public void writeObjectRef(Object id) throws IOException {
+            if (!maskValue()) {
+                delegate.writeObjectRef(id);
+            }
+        }
+
+        @Override
+        public void writeTypeId(Object id) throws IOException {
+            if (skippedDepth == 0) {
+                delegate.writeTypeId(id);
+            }
+        }
+
+        @Override
+        public void writeEmbeddedObject(Object object) throws IOException {
+            if (!maskValue()) {
+                delegate.writeEmbeddedObject(object);
+            }
+        }
+    }
+}
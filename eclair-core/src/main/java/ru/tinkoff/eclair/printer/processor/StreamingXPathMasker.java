@@ -0,0 +1,363 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer.processor;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static javax.xml.stream.XMLStreamConstants.*;
+
+/**
+ * Masks XML in a single pass through StAX without building DOM.
+ * Supports the subset of XPath: absolute and descendant element paths with optional trailing attribute step,
+ * e.g. {@code /container/user/password}, {@code //password}, {@code /container//user/@id} or {@code //@token}.
+ * Delegates to {@link XPathMasker} if any of the expressions is out of the subset.
+ * Note: the output keeps the input formatting except for the absent XML declaration attributes
+ * and whitespaces outside of the root element.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public class StreamingXPathMasker implements PrinterPostProcessor {
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("\\*|[\\p{L}_][\\p{L}\\p{N}_.\\-]*(:[\\p{L}_][\\p{L}\\p{N}_.\\-]*)?");
+
+    private final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+
+    private final List<Path> elementPaths = new ArrayList<>();
+    private final List<Path> attributePaths = new ArrayList<>();
+    private final XPathMasker fallback;
+
+    private String replacement;
+
+    public StreamingXPathMasker(String... xPathExpressions) {
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        List<Path> paths = new ArrayList<>();
+        for (String xPathExpression : xPathExpressions) {
+            Path path = Path.parse(xPathExpression);
+            if (isNull(path)) {
+                paths.clear();
+                break;
+            }
+            paths.add(path);
+        }
+        if (paths.size() < xPathExpressions.length) {
+            this.fallback = new XPathMasker(xPathExpressions);
+            return;
+        }
+        this.fallback = null;
+        for (Path path : paths) {
+            (isNull(path.attributeName) ? elementPaths : attributePaths).add(path);
+        }
+    }
+
+    /**
+     * @return {@code true} if the expression could be processed without {@link XPathMasker}
+     */
+    public static boolean isSupported(String xPathExpression) {
+        return nonNull(Path.parse(xPathExpression));
+    }
+
+    @Override
+    public String process(String string) {
+        if (nonNull(fallback)) {
+            return fallback.process(string);
+        }
+        if (elementPaths.isEmpty() && attributePaths.isEmpty()) {
+            return string;
+        }
+        StringBuilder builder = new StringBuilder(string.length());
+        try {
+            XMLStreamReader reader = inputFactory.createXMLStreamReader(new StringReader(string));
+            try {
+                mask(reader, builder);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return builder.toString();
+    }
+
+    private void mask(XMLStreamReader reader, StringBuilder builder) throws XMLStreamException {
+        List<String> elements = new ArrayList<>();
+        boolean startTagOpen = false;
+        writeDeclaration(reader, builder);
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (startTagOpen) {
+                startTagOpen = false;
+                if (event == END_ELEMENT) {
+                    builder.append("/>");
+                    elements.remove(elements.size() - 1);
+                    continue;
+                }
+                builder.append('>');
+            }
+            switch (event) {
+                case START_ELEMENT:
+                    String name = getName(reader.getPrefix(), reader.getLocalName());
+                    elements.add(name);
+                    writeStartTag(reader, builder, name, elements);
+                    if (matches(elementPaths, elements)) {
+                        skipContent(reader);
+                        if (isNull(replacement) || replacement.isEmpty()) {
+                            builder.append("/>");
+                        } else {
+                            builder.append('>');
+                            escape(builder, replacement, false);
+                            builder.append("</").append(name).append('>');
+                        }
+                        elements.remove(elements.size() - 1);
+                    } else {
+                        startTagOpen = true;
+                    }
+                    break;
+                case END_ELEMENT:
+                    builder.append("</").append(elements.remove(elements.size() - 1)).append('>');
+                    break;
+                case CHARACTERS:
+                case SPACE:
+                    escape(builder, reader.getText(), false);
+                    break;
+                case CDATA:
+                    builder.append("<![CDATA[").append(reader.getText()).append("]]>");
+                    break;
+                case COMMENT:
+                    builder.append("<!--").append(reader.getText()).append("-->");
+                    break;
+                case PROCESSING_INSTRUCTION:
+                    builder.append("<?").append(reader.getPITarget());
+                    String data = reader.getPIData();
+                    if (nonNull(data) && !data.isEmpty()) {
+                        builder.append(' ').append(data);
+                    }
+                    builder.append("?>");
+                    break;
+                case DTD:
+                    builder.append(reader.getText());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void writeDeclaration(XMLStreamReader reader, StringBuilder builder) {
+        String version = reader.getVersion();
+        if (isNull(version)) {
+            return;
+        }
+        builder.append("<?xml version=\"").append(version).append('"');
+        String encoding = reader.getCharacterEncodingScheme();
+        if (nonNull(encoding)) {
+            builder.append(" encoding=\"").append(encoding).append('"');
+        }
+        if (reader.standaloneSet()) {
+            builder.append(" standalone=\"").append(reader.isStandalone() ? "yes" : "no").append('"');
+        }
+        builder.append("?>");
+    }
+
+    private void writeStartTag(XMLStreamReader reader, StringBuilder builder, String name, List<String> elements) {
+        builder.append('<').append(name);
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            builder.append(isNull(prefix) || prefix.isEmpty() ? " xmlns" : " xmlns:" + prefix).append("=\"");
+            escape(builder, reader.getNamespaceURI(i), true);
+            builder.append('"');
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String attributeName = getName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i));
+            builder.append(' ').append(attributeName).append("=\"");
+            if (matches(attributePaths, elements, attributeName)) {
+                if (nonNull(replacement)) {
+                    escape(builder, replacement, true);
+                }
+            } else {
+                escape(builder, reader.getAttributeValue(i), true);
+            }
+            builder.append('"');
+        }
+    }
+
+    private void skipContent(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == START_ELEMENT) {
+                depth++;
+            } else if (event == END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private boolean matches(List<Path> paths, List<String> elements) {
+        for (Path path : paths) {
+            if (path.matches(elements)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matches(List<Path> paths, List<String> elements, String attributeName) {
+        for (Path path : paths) {
+            if (("*".equals(path.attributeName) || path.attributeName.equals(attributeName)) && path.matches(elements)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getName(String prefix, String localName) {
+        return isNull(prefix) || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private static void escape(StringBuilder builder, String string, boolean attribute) {
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            switch (c) {
+                case '&':
+                    builder.append("&amp;");
+                    break;
+                case '<':
+                    builder.append("&lt;");
+                    break;
+                case '>':
+                    builder.append("&gt;");
+                    break;
+                case '"':
+                    builder.append(attribute ? "&quot;" : "\"");
+                    break;
+                default:
+                    builder.append(c);
+            }
+        }
+    }
+
+    public void setReplacement(String replacement) {
+        this.replacement = replacement;
+        if (nonNull(fallback)) {
+            fallback.setReplacement(replacement);
+        }
+    }
+
+    /**
+     * Element steps of location path with child or descendant axis and optional trailing attribute name.
+     */
+    private static class Path {
+
+        private final List<Step> steps;
+        private final String attributeName;
+        /**
+         * Whether the attribute step follows {@code //}, so attributes of the matched elements and any of their
+         * descendants are selected.
+         */
+        private final boolean descendantAttribute;
+
+        private Path(List<Step> steps, String attributeName, boolean descendantAttribute) {
+            this.steps = steps;
+            this.attributeName = attributeName;
+            this.descendantAttribute = descendantAttribute;
+        }
+
+        /**
+         * @return {@code null} if the expression is out of the supported subset
+         */
+        static Path parse(String expression) {
+            if (isNull(expression) || !expression.startsWith("/") || expression.endsWith("/")) {
+                return null;
+            }
+            List<Step> steps = new ArrayList<>();
+            String attributeName = null;
+            String[] tokens = expression.substring(1).split("/", -1);
+            boolean descendant = false;
+            for (int i = 0; i < tokens.length; i++) {
+                String token = tokens[i];
+                if (token.isEmpty()) {
+                    if (descendant) {
+                        return null;
+                    }
+                    descendant = true;
+                    continue;
+                }
+                if (token.startsWith("@")) {
+                    if (i != tokens.length - 1 || !NAME_PATTERN.matcher(token.substring(1)).matches()) {
+                        return null;
+                    }
+                    attributeName = token.substring(1);
+                    break;
+                }
+                if (!NAME_PATTERN.matcher(token).matches()) {
+                    return null;
+                }
+                steps.add(new Step(descendant, token));
+                descendant = false;
+            }
+            if (steps.isEmpty() && !(descendant && nonNull(attributeName))) {
+                return null;
+            }
+            return new Path(steps, attributeName, descendant && nonNull(attributeName));
+        }
+
+        boolean matches(List<String> elements) {
+            return matches(0, elements, 0);
+        }
+
+        private boolean matches(int stepIndex, List<String> elements, int elementIndex) {
+            if (stepIndex == steps.size()) {
+                return descendantAttribute || elementIndex == elements.size();
+            }
+            Step step = steps.get(stepIndex);
+            if (!step.descendant) {
+                return elementIndex < elements.size()
+                        && step.matches(elements.get(elementIndex))
+                        && matches(stepIndex + 1, elements, elementIndex + 1);
+            }
+            for (int i = elementIndex; i < elements.size(); i++) {
+                if (step.matches(elements.get(i)) && matches(stepIndex + 1, elements, i + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class Step {
+
+        private final boolean descendant;
+        private final String name;
+
+        private Step(boolean descendant, String name) {
+            this.descendant = descendant;
+            this.name = name;
+        }
+
+        boolean matches(String elementName) {
+            return "*".equals(name) || name.equals(elementName);
+        }
+    }
+}
@@ -17,8 +17,10 @@ package ru.tinkoff.eclair.printer.processor;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.Transformer;
@@ -28,12 +30,14 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -41,9 +45,14 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 
 /**
+ * Masks XML by full XPath expressions through DOM.
+ * Parsers, compiled expressions and transformers are not thread-safe, so they are cached per thread
+ * and reused by subsequent invocations.
+ * Note: prefer {@link StreamingXPathMasker} for simple location paths.
+ *
  * @author Vyacheslav Klapatnyuk
  */
-public class XPathMasker implements PrinterPostProcessor {
+public class XPathMasker implements DocumentPostProcessor {
 
     private final DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
     private final XPathFactory xPathfactory = XPathFactory.newInstance();
@@ -54,8 +63,17 @@ public class XPathMasker implements PrinterPostProcessor {
     private String replacement;
     private Map<String, String> outputProperties = emptyMap();
 
+    /**
+     * Replaced on every configuration change, so threads don't reuse components configured by the previous settings.
+     */
+    private volatile ThreadLocal<Components> components = newComponents();
+
+    /**
+     * @throws IllegalArgumentException if any of the expressions could not be compiled
+     */
     public XPathMasker(String... xPathExpressions) {
         this.xPathExpressions = asList(xPathExpressions);
+        compile(xPathfactory.newXPath());
     }
 
     @Override
@@ -63,24 +81,37 @@ public class XPathMasker implements PrinterPostProcessor {
         if (xPathExpressions.isEmpty()) {
             return string;
         }
-        InputStream stream = new ByteArrayInputStream(string.getBytes());
+        Document document;
+        try {
+            document = components.get().documentBuilder.parse(new InputSource(new StringReader(string)));
+        } catch (SAXException | IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+        process(document);
+        StringWriter writer = new StringWriter(string.length());
+        write(document, writer);
+        return writer.getBuffer().toString();
+    }
+
+    @Override
+    public void process(Document document) {
         try {
-            Document document = documentBuilderFactory.newDocumentBuilder().parse(stream);
-            XPath xPath = xPathfactory.newXPath();
-            for (String xPathExpression : xPathExpressions) {
-                NodeList nodeList = (NodeList) xPath.compile(xPathExpression).evaluate(document, XPathConstants.NODESET);
+            for (XPathExpression expression : components.get().expressions) {
+                NodeList nodeList = (NodeList) expression.evaluate(document, XPathConstants.NODESET);
                 for (int a = 0; a < nodeList.getLength(); a++) {
                     nodeList.item(a).setTextContent(replacement);
                 }
             }
-            StringWriter writer = new StringWriter();
-            Transformer transformer = transformerFactory.newTransformer();
-            for (Map.Entry<String, String> entry : outputProperties.entrySet()) {
-                transformer.setOutputProperty(entry.getKey(), entry.getValue());
-            }
-            transformer.transform(new DOMSource(document), new StreamResult(writer));
-            return writer.getBuffer().toString();
-        } catch (ParserConfigurationException | SAXException | IOException | XPathExpressionException | TransformerException e) {
+        } catch (XPathExpressionException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public void write(Document document, Writer writer) {
+        try {
+            components.get().transformer.transform(new DOMSource(document), new StreamResult(writer));
+        } catch (TransformerException e) {
             throw new IllegalArgumentException(e);
         }
     }
@@ -91,5 +122,48 @@ public class XPathMasker implements PrinterPostProcessor {
 
     public void setOutputProperties(Map<String, String> outputProperties) {
         this.outputProperties = outputProperties;
+        this.components = newComponents();
+    }
+
+    private ThreadLocal<Components> newComponents() {
+        return ThreadLocal.withInitial(this::createComponents);
+    }
+
+    private Components createComponents() {
+        try {
+            DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
+            Transformer transformer = transformerFactory.newTransformer();
+            for (Map.Entry<String, String> entry : outputProperties.entrySet()) {
+                transformer.setOutputProperty(entry.getKey(), entry.getValue());
+            }
+            return new Components(documentBuilder, compile(xPathfactory.newXPath()), transformer);
+        } catch (ParserConfigurationException | TransformerException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<XPathExpression> compile(XPath xPath) {
+        List<XPathExpression> expressions = new ArrayList<>(xPathExpressions.size());
+        for (String xPathExpression : xPathExpressions) {
+            try {
+                expressions.add(xPath.compile(xPathExpression));
+            } catch (XPathExpressionException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+        return expressions;
+    }
+
+    private static class Components {
+
+        private final DocumentBuilder documentBuilder;
+        private final List<XPathExpression> expressions;
+        private final Transformer transformer;
+
+        private Components(DocumentBuilder documentBuilder, List<XPathExpression> expressions, Transformer transformer) {
+            this.documentBuilder = documentBuilder;
+            this.expressions = expressions;
+            this.transformer = transformer;
+        }
     }
 }
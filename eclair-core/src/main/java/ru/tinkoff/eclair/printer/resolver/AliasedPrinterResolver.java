@@ -20,6 +20,7 @@ import ru.tinkoff.eclair.printer.Printer;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import static java.util.Objects.nonNull;
@@ -33,6 +34,18 @@ public class AliasedPrinterResolver implements PrinterResolver {
     private final Map<String, Printer> printers;
     private final Map<String, String> aliases;
 
+    /**
+     * Result of the first supporting printer search, {@link Optional#empty()} if nothing found.
+     */
+    private final ClassValue<Optional<Printer>> supportingPrinters = new ClassValue<Optional<Printer>>() {
+        @Override
+        protected Optional<Printer> computeValue(Class<?> type) {
+            return printers.values().stream()
+                    .filter(item -> item.supports(type))
+                    .findFirst();
+        }
+    };
+
     public AliasedPrinterResolver(Map<String, Printer> printers,
                                   Map<String, String> aliases) {
         this.printers = printers;
@@ -88,9 +101,6 @@ public class AliasedPrinterResolver implements PrinterResolver {
      * @see Printer#supports(Class)
      */
     private Printer resolve(Class<?> printableClass) {
-        return printers.values().stream()
-                .filter(item -> item.supports(printableClass))
-                .findFirst()
-                .orElse(null);
+        return supportingPrinters.get(printableClass).orElse(null);
     }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer.resolver;
+
+import ru.tinkoff.eclair.printer.Printer;
+import ru.tinkoff.eclair.printer.snapshot.SnapshotStrategy;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Delegates printing to the printer resolved by runtime class of the value.
+ * The printer requested by name (or alias) is tried against the runtime class first,
+ * others are considered only if it does not support the class.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+final class RuntimeTypePrinter extends Printer {
+
+    private final ClassValue<Printer> printers;
+
+    /**
+     * @param name requested printer name or alias, empty if not specified
+     */
+    RuntimeTypePrinter(PrinterResolver printerResolver, String name) {
+        this.printers = new ClassValue<Printer>() {
+            @Override
+            protected Printer computeValue(Class<?> type) {
+                return printerResolver.resolveOrDefault(name, type);
+            }
+        };
+    }
+
+    Printer getPrinter(Class<?> clazz) {
+        return printers.get(clazz);
+    }
+
+    /**
+     * Applies the strategy of the printer resolved by runtime class unless this printer defines its own.
+     */
+    @Override
+    public Object snapshot(Object input, SnapshotStrategy defaultStrategy) {
+        if (nonNull(getSnapshotStrategy())) {
+            return super.snapshot(input, defaultStrategy);
+        }
+        return getPrinter(input.getClass()).snapshot(input, defaultStrategy);
+    }
+
+    @Override
+    protected String serialize(Object input) {
+        return getPrinter(input.getClass()).print(input);
+    }
+
+    @Override
+    protected void serialize(Object input, Appendable output) {
+        getPrinter(input.getClass()).print(input, output);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer.resolver;
+
+import ru.tinkoff.eclair.printer.Printer;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static java.util.Objects.nonNull;
+import static java.util.stream.Collectors.toList;
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * Resolves printers of polymorphic types ({@link Object}, interfaces and abstract classes) by runtime class
+ * of every printed value instead of the declared type.
+ * Printers explicitly named and supporting the declared type are still preferred,
+ * otherwise the named printer is tried against the runtime class of every value before the others.
+ * Note: after warm-up the cost of runtime resolution is single {@link ClassValue} lookup per printed value.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public class RuntimeTypePrinterResolver implements PrinterResolver {
+
+    private final PrinterResolver printerResolver;
+
+    /**
+     * Runtime type printers by requested printer name, each caches resolved printers by class.
+     * Note: names come from annotations, so the map is bounded by the count of distinct names in the code.
+     */
+    private final Map<String, Printer> runtimeTypePrinters = new ConcurrentHashMap<>();
+
+    public RuntimeTypePrinterResolver(PrinterResolver printerResolver) {
+        this.printerResolver = printerResolver;
+    }
+
+    @Override
+    public Printer resolve(String name) {
+        return printerResolver.resolve(name);
+    }
+
+    @Override
+    public Printer resolve(String name, Class<?> printableClass) {
+        if (!isPolymorphic(printableClass)) {
+            return printerResolver.resolve(name, printableClass);
+        }
+        if (hasText(name)) {
+            Printer printer = printerResolver.resolve(name);
+            if (nonNull(printer) && printer.supports(printableClass)) {
+                return printer;
+            }
+        }
+        return runtimeTypePrinters.computeIfAbsent(nonNull(name) ? name : "", key -> new RuntimeTypePrinter(printerResolver, key));
+    }
+
+    @Override
+    public List<Printer> resolve(String name, Class<?>[] printableClasses) {
+        return Stream.of(printableClasses)
+                .map(printableClass -> resolve(name, printableClass))
+                .collect(toList());
+    }
+
+    private boolean isPolymorphic(Class<?> clazz) {
+        if (clazz.isPrimitive() || clazz.isArray() || clazz.isAnnotation()) {
+            return false;
+        }
+        return clazz == Object.class || clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers());
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer.snapshot;
+
+import ru.tinkoff.eclair.printer.Printer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Passes the values of known immutable types as is and delegates capturing of others.
+ * Known types are {@link String}, primitive wrappers, {@link BigInteger}, {@link BigDecimal}, enums, {@code java.time} types
+ * and a few other JDK value types. Could be extended by {@link #addImmutableType(Class)}.
+ * Note: types are matched exactly, subclasses of non-final types are not considered immutable.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public class ImmutableSnapshotStrategy implements SnapshotStrategy {
+
+    private static final String JAVA_TIME_PACKAGE_PREFIX = "java.time.";
+
+    private final Set<Class<?>> immutableTypes = ConcurrentHashMap.newKeySet();
+    private final SnapshotStrategy delegate;
+
+    public ImmutableSnapshotStrategy(SnapshotStrategy delegate) {
+        this.delegate = delegate;
+        immutableTypes.addAll(asList(String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class,
+                Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class, UUID.class, URI.class, Locale.class,
+                Currency.class, Pattern.class, Class.class));
+    }
+
+    public ImmutableSnapshotStrategy addImmutableType(Class<?> type) {
+        immutableTypes.add(type);
+        return this;
+    }
+
+    @Override
+    public Object capture(Object input, Printer printer) {
+        return isImmutable(input.getClass()) ? input : delegate.capture(input, printer);
+    }
+
+    boolean isImmutable(Class<?> type) {
+        return immutableTypes.contains(type) || type.isEnum() || isEnumConstantBody(type) || isJavaTimeType(type);
+    }
+
+    private static boolean isEnumConstantBody(Class<?> type) {
+        Class<?> superclass = type.getSuperclass();
+        return superclass != null && superclass.isEnum();
+    }
+
+    private static boolean isJavaTimeType(Class<?> type) {
+        return type.getClassLoader() == null && type.getName().startsWith(JAVA_TIME_PACKAGE_PREFIX);
+    }
+}
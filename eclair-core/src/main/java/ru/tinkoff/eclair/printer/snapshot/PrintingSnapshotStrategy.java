@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer.snapshot;
+
+import ru.tinkoff.eclair.printer.Printer;
+import ru.tinkoff.eclair.printer.resolver.PrinterResolver;
+
+/**
+ * Prints the value eagerly by its printer, so only appending of the ready text is deferred.
+ * Note: if the printer fails, the default printer is used like in synchronous logging.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public final class PrintingSnapshotStrategy implements SnapshotStrategy {
+
+    private static final PrintingSnapshotStrategy instance = new PrintingSnapshotStrategy();
+
+    private PrintingSnapshotStrategy() {
+    }
+
+    public static PrintingSnapshotStrategy getInstance() {
+        return instance;
+    }
+
+    @Override
+    public Object capture(Object input, Printer printer) {
+        String value;
+        try {
+            value = printer.print(input);
+        } catch (Exception e) {
+            value = PrinterResolver.defaultPrinter.print(input);
+        }
+        return new PrintedSnapshot(value);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer.snapshot;
+
+import ru.tinkoff.eclair.printer.Printer;
+
+/**
+ * Passes the references as is. Safe only for values not changed after the invocation.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public final class ReferenceSnapshotStrategy implements SnapshotStrategy {
+
+    private static final ReferenceSnapshotStrategy instance = new ReferenceSnapshotStrategy();
+
+    private ReferenceSnapshotStrategy() {
+    }
+
+    public static ReferenceSnapshotStrategy getInstance() {
+        return instance;
+    }
+
+    @Override
+    public Object capture(Object input, Printer printer) {
+        return input;
+    }
+}
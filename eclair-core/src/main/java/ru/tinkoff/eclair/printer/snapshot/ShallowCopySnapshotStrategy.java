@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer.snapshot;
+
+import ru.tinkoff.eclair.printer.Printer;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Copies arrays, collections and maps without copying their elements and delegates capturing of other values.
+ * Suits the containers filled for the invocation and reused or cleared afterwards, while the elements stay unchanged.
+ * Collections and maps of JDK classes are copied by their {@code clone()}, so printers see the same type.
+ * Other containers, e.g. the ones of application classes or JDK views not supporting {@code clone()},
+ * are delegated, because their copy of another type could be printed differently.
+ * The value is delegated also if it was concurrently modified while copying.
+ *
+ * @author Vyacheslav Klapatnyuk
+ */
+public class ShallowCopySnapshotStrategy implements SnapshotStrategy {
+
+    private static final ClassValue<Optional<Method>> cloneMethods = new ClassValue<Optional<Method>>() {
+        @Override
+        protected Optional<Method> computeValue(Class<?> type) {
+            if (!isNull(type.getClassLoader()) || !Cloneable.class.isAssignableFrom(type)) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(type.getMethod("clone"));
+            } catch (NoSuchMethodException | SecurityException e) {
+                return Optional.empty();
+            }
+        }
+    };
+
+    private final SnapshotStrategy delegate;
+
+    public ShallowCopySnapshotStrategy() {
+        this(PrintingSnapshotStrategy.getInstance());
+    }
+
+    public ShallowCopySnapshotStrategy(SnapshotStrategy delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object capture(Object input, Printer printer) {
+        if (input.getClass().isArray()) {
+            return copyArray(input);
+        }
+        if (input instanceof Collection || input instanceof Map) {
+            Optional<Method> cloneMethod = cloneMethods.get(input.getClass());
+            if (cloneMethod.isPresent()) {
+                try {
+                    return cloneMethod.get().invoke(input);
+                } catch (IllegalAccessException | InvocationTargetException | RuntimeException e) {
+                    // fall through, e.g. on concurrent modification
+                }
+            }
+        }
+        return delegate.capture(input, printer);
+    }
+
+    private static Object copyArray(Object input) {
+        int length = Array.getLength(input);
+        Object copy = Array.newInstance(input.getClass().getComponentType(), length);
+        System.arraycopy(input, 0, copy, 0, length);
+        return copy;
+    }
+}
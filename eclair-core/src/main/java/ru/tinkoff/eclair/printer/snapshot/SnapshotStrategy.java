@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer.snapshot;
+
+import ru.tinkoff.eclair.printer.Printer;
+
+/**
+ * Captures the state of argument or return value to be printed later, possibly by another thread.
+ * Implementations return the value safe to print after the invocation: the input itself if it could not be changed,
+ * its copy or the {@link PrintedSnapshot} containing the value already printed by the specified printer.
+ *
+ * @author Vyacheslav Klapatnyuk
+ * @see Printer#setSnapshotStrategy(SnapshotStrategy)
+ */
+public interface SnapshotStrategy {
+
+    /**
+     * @param input   never {@code null}
+     * @param printer printer defined for the value
+     * @return never {@code null}
+     */
+    Object capture(Object input, Printer printer);
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.aop;
+
+import org.junit.Test;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.SettableListenableFuture;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class CompletionHooksTest {
+
+    private final List<Object> outcomes = new ArrayList<>();
+
+    @Test
+    public void supports() {
+        assertTrue(CompletionHooks.supports(CompletionStage.class, new CompletableFuture<>()));
+        assertTrue(CompletionHooks.supports(ListenableFuture.class, new SettableListenableFuture<>()));
+        assertFalse(CompletionHooks.supports(Object.class, new Object()));
+        assertFalse(CompletionHooks.supports(String.class, "s"));
+    }
+
+    @Test
+    public void supportsReactorByDeclaredReturnType() {
+        assertTrue(CompletionHooks.supports(Mono.class, Mono.just("value")));
+        assertTrue(CompletionHooks.supports(Object.class, Mono.just("value")));
+        assertTrue(CompletionHooks.supports(Flux.class, Flux.just("value").publish()));
+        assertFalse(CompletionHooks.supports(ConnectableFlux.class, Flux.just("value").publish()));
+        assertFalse(CompletionHooks.supports(MonoProcessor.class, Mono.just("value").toProcessor()));
+    }
+
+    @Test
+    public void whenCompleteCompletionStage() {
+        // given
+        CompletableFuture<String> future = new CompletableFuture<>();
+        // when
+        Object result = CompletionHooks.whenComplete(future, (value, throwable) -> outcomes.addAll(asList(value, throwable)));
+        boolean notifiedBeforeCompletion = !outcomes.isEmpty();
+        future.complete("value");
+        // then
+        assertThat(result, sameInstance(future));
+        assertFalse(notifiedBeforeCompletion);
+        assertThat(outcomes, is(asList("value", null)));
+    }
+
+    @Test
+    public void whenCompleteDependentStageExceptionally() {
+        // given
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> dependent = future.thenApply(value -> value);
+        RuntimeException failure = new RuntimeException();
+        // when
+        CompletionHooks.whenComplete(dependent, (value, throwable) -> outcomes.addAll(asList(value, throwable)));
+        future.completeExceptionally(failure);
+        // then
+        assertThat(outcomes, is(asList(null, failure)));
+    }
+
+    @Test
+    public void whenCompleteListenableFuture() {
+        // given
+        SettableListenableFuture<String> future = new SettableListenableFuture<>();
+        RuntimeException failure = new RuntimeException();
+        // when
+        Object result = CompletionHooks.whenComplete(future, (value, throwable) -> outcomes.addAll(asList(value, throwable)));
+        future.setException(failure);
+        // then
+        assertThat(result, sameInstance(future));
+        assertThat(outcomes, is(asList(null, failure)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenCompleteUnsupported() {
+        CompletionHooks.whenComplete(new Object(), (value, throwable) -> outcomes.add(value));
+    }
+
+    @Test
+    public void whenCompleteMono() {
+        // given
+        Mono<String> mono = Mono.just("value");
+        // when
+        Mono<?> result = (Mono<?>) CompletionHooks.whenComplete(mono, (value, throwable) -> outcomes.addAll(asList(value, throwable)));
+        boolean notifiedBeforeSubscription = !outcomes.isEmpty();
+        result.block();
+        // then
+        assertFalse(notifiedBeforeSubscription);
+        assertThat(outcomes, is(asList("value", null)));
+    }
+
+    @Test
+    public void whenCompleteMonoExceptionally() {
+        // given
+        RuntimeException failure = new RuntimeException();
+        Mono<String> mono = Mono.error(failure);
+        // when
+        Mono<?> result = (Mono<?>) CompletionHooks.whenComplete(mono, (value, throwable) -> outcomes.addAll(asList(value, throwable)));
+        result.subscribe(value -> {
+        }, throwable -> {
+        });
+        // then
+        assertThat(outcomes, is(asList(null, failure)));
+    }
+
+    @Test
+    public void whenCompleteMonoCancelled() {
+        // given
+        Mono<String> mono = Mono.never();
+        // when
+        Mono<?> result = (Mono<?>) CompletionHooks.whenComplete(mono, (value, throwable) -> outcomes.addAll(asList(value, throwable)));
+        result.subscribe().dispose();
+        // then
+        assertThat(outcomes, is(emptyList()));
+    }
+
+    @Test
+    public void whenCompleteFluxCountsElementsPerSubscription() {
+        // given
+        Flux<String> flux = Flux.just("first", "second");
+        // when
+        Flux<?> result = (Flux<?>) CompletionHooks.whenComplete(flux, (value, throwable) -> outcomes.addAll(asList(value, throwable)));
+        boolean notifiedBeforeSubscription = !outcomes.isEmpty();
+        result.blockLast();
+        result.blockLast();
+        // then
+        assertFalse(notifiedBeforeSubscription);
+        assertThat(outcomes, is(asList(2L, null, 2L, null)));
+    }
+
+    @Test
+    public void whenCompleteFluxExceptionally() {
+        // given
+        RuntimeException failure = new RuntimeException();
+        Flux<String> flux = Flux.concat(Flux.just("first"), Flux.<String>error(failure));
+        // when
+        Flux<?> result = (Flux<?>) CompletionHooks.whenComplete(flux, (value, throwable) -> outcomes.addAll(asList(value, throwable)));
+        result.subscribe(value -> {
+        }, throwable -> {
+        });
+        // then
+        assertThat(outcomes, is(asList(null, failure)));
+    }
+
+    @Test
+    public void whenCompleteFluxCancelled() {
+        // given
+        Flux<String> flux = Flux.just("first", "second", "third");
+        // when
+        Flux<?> result = (Flux<?>) CompletionHooks.whenComplete(flux, (value, throwable) -> outcomes.addAll(asList(value, throwable)));
+        result.take(1).blockLast();
+        // then
+        assertThat(outcomes, is(emptyList()));
+    }
+
+    @Test
+    public void loadReactor() {
+        // when
+        CompletionHooks.Reactor reactor = CompletionHooks.Reactor.load(getClass().getClassLoader(),
+                Mono.class.getName(), Flux.class.getName());
+        // then
+        assertNotNull(reactor);
+    }
+
+    @Test
+    public void loadAbsentReactor() {
+        // when
+        CompletionHooks.Reactor reactor = CompletionHooks.Reactor.load(getClass().getClassLoader(),
+                "reactor.core.publisher.Absent", "reactor.core.publisher.Absent");
+        // then
+        assertNull(reactor);
+    }
+
+    @Test
+    public void loadIncompatibleReactor() {
+        // when
+        CompletionHooks.Reactor reactor = CompletionHooks.Reactor.load(getClass().getClassLoader(),
+                Mono.class.getName(), Object.class.getName());
+        // then
+        assertNull(reactor);
+    }
+}
@@ -18,13 +18,20 @@ package ru.tinkoff.eclair.aop;
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.slf4j.MDC;
+import ru.tinkoff.eclair.definition.OutLog;
 import ru.tinkoff.eclair.definition.method.MethodLog;
 import ru.tinkoff.eclair.logger.EclairLogger;
+import ru.tinkoff.eclair.printer.ToStringPrinter;
 
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
@@ -32,6 +39,8 @@ import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.boot.logging.LogLevel.DEBUG;
+import static org.springframework.boot.logging.LogLevel.OFF;
 
 /**
  * @author Vyacheslav Klapatnyuk
@@ -118,4 +127,164 @@ public class LogAdvisorTest {
             assertThat(e, is(throwable));
         }
     }
+
+    @Test
+    public void invokeLogOutOnCompletion() throws Throwable {
+        // given
+        EclairLogger eclairLogger = mock(EclairLogger.class);
+        LogAdvisor logAdvisor = LogAdvisor.newInstance(eclairLogger, singletonList(methodLog));
+        CompletableFuture<Object> future = new CompletableFuture<>();
+
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.proceed()).thenReturn(future);
+        String[] completionMdc = new String[2];
+        doAnswer(answer -> completionMdc[0] = MDC.get("key"))
+                .when(eclairLogger).logOutIfNecessary(invocation, methodLog, result);
+        // when
+        assertNotNull(logAdvisor);
+        MDC.put("key", "invocation");
+        Object actualResult = logAdvisor.invoke(invocation);
+        MDC.put("key", "completion");
+        verify(eclairLogger, never()).logOutIfNecessary(any(), any(), any());
+        future.complete(result);
+        completionMdc[1] = MDC.get("key");
+        MDC.clear();
+        // then
+        verify(eclairLogger).logInIfNecessary(invocation, methodLog);
+        verify(eclairLogger).logOutIfNecessary(invocation, methodLog, result);
+        assertThat(actualResult, is(future));
+        assertThat(completionMdc[0], is("invocation"));
+        assertThat(completionMdc[1], is("completion"));
+    }
+
+    @Test
+    public void invokeLogErrorOnCompletion() throws Throwable {
+        // given
+        EclairLogger eclairLogger = mock(EclairLogger.class);
+        LogAdvisor logAdvisor = LogAdvisor.newInstance(eclairLogger, singletonList(methodLog));
+        CompletableFuture<Object> future = new CompletableFuture<>();
+
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.proceed()).thenReturn(future);
+        // when
+        assertNotNull(logAdvisor);
+        logAdvisor.invoke(invocation);
+        future.completeExceptionally(throwable);
+        // then
+        verify(eclairLogger).logErrorIfNecessary(invocation, methodLog, throwable);
+        verify(eclairLogger, never()).logOutIfNecessary(any(), any(), any());
+    }
+
+    @Test
+    public void invokeLogOutWithDuration() throws Throwable {
+        // given
+        EclairLogger eclairLogger = mock(EclairLogger.class);
+        when(methodLog.getOutLog()).thenReturn(new OutLog(DEBUG, OFF, DEBUG, new ToStringPrinter(), true));
+        LogAdvisor logAdvisor = LogAdvisor.newInstance(eclairLogger, singletonList(methodLog));
+
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.proceed()).thenReturn(result);
+        ArgumentCaptor<Long> durationCaptor = ArgumentCaptor.forClass(Long.class);
+        // when
+        assertNotNull(logAdvisor);
+        logAdvisor.invoke(invocation);
+        // then
+        verify(eclairLogger).logOutIfNecessary(eq(invocation), eq(methodLog), eq(result), durationCaptor.capture());
+        verify(eclairLogger, never()).logOutIfNecessary(any(), any(), any());
+        assertTrue(durationCaptor.getValue() >= 0);
+    }
+
+    @Test
+    public void invokeLogErrorWithDuration() throws Throwable {
+        // given
+        EclairLogger eclairLogger = mock(EclairLogger.class);
+        when(methodLog.getOutLog()).thenReturn(new OutLog(DEBUG, OFF, DEBUG, new ToStringPrinter(), true));
+        LogAdvisor logAdvisor = LogAdvisor.newInstance(eclairLogger, singletonList(methodLog));
+
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.proceed()).thenThrow(throwable);
+        try {
+            // when
+            assertNotNull(logAdvisor);
+            logAdvisor.invoke(invocation);
+            fail();
+        } catch (RuntimeException e) {
+            // then
+            verify(eclairLogger).logErrorIfNecessary(eq(invocation), eq(methodLog), eq(throwable), anyLong());
+            verify(eclairLogger, never()).logErrorIfNecessary(any(), any(), any());
+        }
+    }
+
+    @Test
+    public void invokeSkipFastWithSlowThreshold() throws Throwable {
+        // given
+        EclairLogger eclairLogger = mock(EclairLogger.class);
+        when(methodLog.getOutLog()).thenReturn(slowOnlyOutLog(TimeUnit.MINUTES.toNanos(1)));
+        LogAdvisor logAdvisor = LogAdvisor.newInstance(eclairLogger, singletonList(methodLog));
+
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.proceed()).thenReturn(result);
+        // when
+        assertNotNull(logAdvisor);
+        Object actualResult = logAdvisor.invoke(invocation);
+        // then
+        verifyZeroInteractions(eclairLogger);
+        assertThat(actualResult, is(result));
+    }
+
+    @Test
+    public void invokeLogSlowWithSlowThreshold() throws Throwable {
+        // given
+        EclairLogger eclairLogger = mock(EclairLogger.class);
+        when(methodLog.getOutLog()).thenReturn(slowOnlyOutLog(TimeUnit.MILLISECONDS.toNanos(1)));
+        LogAdvisor logAdvisor = LogAdvisor.newInstance(eclairLogger, singletonList(methodLog));
+
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.proceed()).thenAnswer(answer -> {
+            Thread.sleep(5);
+            return result;
+        });
+        ArgumentCaptor<Long> durationCaptor = ArgumentCaptor.forClass(Long.class);
+        // when
+        assertNotNull(logAdvisor);
+        logAdvisor.invoke(invocation);
+        // then
+        InOrder inOrder = inOrder(eclairLogger);
+        inOrder.verify(eclairLogger).logInIfNecessary(invocation, methodLog);
+        inOrder.verify(eclairLogger).logOutIfNecessary(eq(invocation), eq(methodLog), eq(result), durationCaptor.capture());
+        assertTrue(durationCaptor.getValue() > TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    public void invokeLogErrorWithSlowThreshold() throws Throwable {
+        // given
+        EclairLogger eclairLogger = mock(EclairLogger.class);
+        when(methodLog.getOutLog()).thenReturn(slowOnlyOutLog(TimeUnit.MINUTES.toNanos(1)));
+        LogAdvisor logAdvisor = LogAdvisor.newInstance(eclairLogger, singletonList(methodLog));
+
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.proceed()).thenThrow(throwable);
+        try {
+            // when
+            assertNotNull(logAdvisor);
+            logAdvisor.invoke(invocation);
+            fail();
+        } catch (RuntimeException e) {
+            // then
+            InOrder inOrder = inOrder(eclairLogger);
+            inOrder.verify(eclairLogger).logInIfNecessary(invocation, methodLog);
+            inOrder.verify(eclairLogger).logErrorIfNecessary(eq(invocation), eq(methodLog), eq(throwable), anyLong());
+        }
+    }
+
+    private OutLog slowOnlyOutLog(long slowThresholdNanos) {
+        return new OutLog(DEBUG, OFF, DEBUG, new ToStringPrinter(), false, slowThresholdNanos);
+    }
 }
@@ -725,6 +725,8 @@ public class AnnotationExtractorTest {
         attributes.put("verbose", INFO);
         attributes.put("printer", "printer");
         attributes.put("logger", "logger");
+        attributes.put("duration", true);
+        attributes.put("slowerThan", 100L);
         Log log = AnnotationUtils.synthesizeAnnotation(attributes, Log.class, null);
         // when
         Log.out logOut = annotationExtractor.synthesizeLogOut(log);
@@ -734,6 +736,8 @@ public class AnnotationExtractorTest {
         assertThat(logOut.verbose(), is(INFO));
         assertThat(logOut.printer(), is("printer"));
         assertThat(logOut.logger(), is("logger"));
+        assertTrue(logOut.duration());
+        assertThat(logOut.slowerThan(), is(100L));
     }
 
     @Test
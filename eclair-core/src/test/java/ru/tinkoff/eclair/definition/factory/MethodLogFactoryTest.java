@@ -56,10 +56,11 @@ public class MethodLogFactoryTest {
         OutLog outLog = givenOutLog();
         Set<ErrorLog> errorLogs = singleton(TestErrorLogFactory.newInstance(new Class<?>[]{Throwable.class}, new Class<?>[]{}));
         // when
-        MethodLog methodLog = MethodLogFactory.newInstance(method, parameterNames, inLog, parameterLogs, outLog, errorLogs);
+        MethodLog methodLog = MethodLogFactory.newInstance(method, "loggerName", parameterNames, inLog, parameterLogs, outLog, errorLogs);
         // then
         assertNotNull(methodLog);
         assertThat(methodLog.getMethod(), is(method));
+        assertThat(methodLog.getLoggerName(), is("loggerName"));
         assertThat(methodLog.getParameterNames(), hasSize(1));
         assertThat(methodLog.getParameterNames().get(0), is("parameterName"));
         assertThat(methodLog.getInLog(), is(inLog));
@@ -78,7 +79,7 @@ public class MethodLogFactoryTest {
         OutLog outLog = null;
         Set<ErrorLog> errorLogs = emptySet();
         // when
-        MethodLog methodLog = MethodLogFactory.newInstance(method, parameterNames, inLog, parameterLogs, outLog, errorLogs);
+        MethodLog methodLog = MethodLogFactory.newInstance(method, "loggerName", parameterNames, inLog, parameterLogs, outLog, errorLogs);
         // then
         assertThat(methodLog, nullValue());
     }
@@ -93,7 +94,7 @@ public class MethodLogFactoryTest {
         OutLog outLog = givenOutLog();
         Set<ErrorLog> errorLogs = new HashSet<>();
         // when
-        MethodLog methodLog = MethodLogFactory.newInstance(method, parameterNames, inLog, parameterLogs, outLog, errorLogs);
+        MethodLog methodLog = MethodLogFactory.newInstance(method, "loggerName", parameterNames, inLog, parameterLogs, outLog, errorLogs);
         assertNotNull(methodLog);
         methodLog.getParameterLogs().add(givenParameterLog());
         // then expected exception
@@ -109,7 +110,7 @@ public class MethodLogFactoryTest {
         OutLog outLog = givenOutLog();
         Set<ErrorLog> errorLogs = new HashSet<>();
         // when
-        MethodLog methodLog = MethodLogFactory.newInstance(method, parameterNames, inLog, parameterLogs, outLog, errorLogs);
+        MethodLog methodLog = MethodLogFactory.newInstance(method, "loggerName", parameterNames, inLog, parameterLogs, outLog, errorLogs);
         assertNotNull(methodLog);
         methodLog.getParameterNames().add("name");
         // then expected exception
@@ -126,7 +127,7 @@ public class MethodLogFactoryTest {
         ErrorLog errorLog = TestErrorLogFactory.newInstance(new Class<?>[]{Exception.class}, new Class<?>[]{Error.class});
         Set<ErrorLog> errorLogs = singleton(errorLog);
         // when
-        MethodLog methodLog = MethodLogFactory.newInstance(method, parameterNames, inLog, parameterLogs, outLog, errorLogs);
+        MethodLog methodLog = MethodLogFactory.newInstance(method, "loggerName", parameterNames, inLog, parameterLogs, outLog, errorLogs);
         // then
         assertNotNull(methodLog);
         assertThat(methodLog.findErrorLog(Throwable.class), nullValue());
@@ -26,7 +26,9 @@ import java.util.Map;
 
 import static java.util.Collections.singletonMap;
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.springframework.boot.logging.LogLevel.TRACE;
 import static org.springframework.boot.logging.LogLevel.WARN;
 import static org.springframework.core.annotation.AnnotationUtils.synthesizeAnnotation;
@@ -48,6 +50,7 @@ public class OutLogFactoryTest {
         assertThat(outLog.getIfEnabledLevel(), is(WARN));
         assertThat(outLog.getVerboseLevel(), is(TRACE));
         assertThat(outLog.getPrinter(), is(printer));
+        assertTrue(outLog.isDuration());
     }
 
     private Log.out givenLogOut() {
@@ -55,6 +58,7 @@ public class OutLogFactoryTest {
         attributes.put("level", WARN);
         attributes.put("ifEnabled", WARN);
         attributes.put("verbose", TRACE);
+        attributes.put("duration", true);
         return synthesizeAnnotation(attributes, Log.out.class, null);
     }
 
@@ -73,6 +77,30 @@ public class OutLogFactoryTest {
         assertThat(outLog.getLevel(), is(WARN));
     }
 
+    @Test
+    public void newInstanceSlowOnly() {
+        // given
+        Log.out logOut = synthesizeAnnotation(singletonMap("slowerThan", 250L), Log.out.class, null);
+        // when
+        OutLog outLog = OutLogFactory.newInstance(logOut, givenPrinter());
+        // then
+        assertTrue(outLog.isSlowOnly());
+        assertTrue(outLog.isDuration());
+        assertThat(outLog.getSlowThresholdNanos(), is(250_000_000L));
+    }
+
+    @Test
+    public void newInstanceNotSlowOnlyByDefault() {
+        // given
+        Log.out logOut = synthesizeAnnotation(singletonMap("value", WARN), Log.out.class, null);
+        // when
+        OutLog outLog = OutLogFactory.newInstance(logOut, givenPrinter());
+        // then
+        assertFalse(outLog.isSlowOnly());
+        assertFalse(outLog.isDuration());
+        assertThat(outLog.getSlowThresholdNanos(), is(OutLog.NO_SLOW_THRESHOLD));
+    }
+
     private Log.out givenLogOutByValue() {
         return synthesizeAnnotation(singletonMap("value", WARN), Log.out.class, null);
     }
@@ -0,0 +1,453 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.MDC;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import ru.tinkoff.eclair.definition.ErrorLog;
+import ru.tinkoff.eclair.definition.InLog;
+import ru.tinkoff.eclair.definition.OutLog;
+import ru.tinkoff.eclair.definition.method.MethodLog;
+import ru.tinkoff.eclair.logger.facade.LoggerFacade;
+import ru.tinkoff.eclair.logger.facade.LoggerFacadeFactory;
+import ru.tinkoff.eclair.printer.Printer;
+import ru.tinkoff.eclair.printer.ToStringPrinter;
+import ru.tinkoff.eclair.printer.resolver.PrinterResolver;
+import ru.tinkoff.eclair.printer.snapshot.PrintingSnapshotStrategy;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.boot.logging.LogLevel.DEBUG;
+import static org.springframework.boot.logging.LogLevel.OFF;
+import static org.springframework.boot.logging.LogLevel.TRACE;
+import static ru.tinkoff.eclair.logger.AsyncLogger.OverflowPolicy.*;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class AsyncLoggerTest {
+
+    private final LoggerFacade loggerFacade = mock(LoggerFacade.class);
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    private AsyncLogger logger;
+
+    @After
+    public void close() throws InterruptedException {
+        MDC.clear();
+        if (logger != null) {
+            logger.close();
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private String method(String s) {
+        return s;
+    }
+
+    @Test
+    public void logOnWorkerWithCapturedMdc() throws Exception {
+        // given
+        doAnswer(invocation -> events.add(Thread.currentThread().getName() + " " + MDC.get("key") + " " + invocation.getArguments()[1]))
+                .when(loggerFacade).log(any(), anyString());
+        logger = new AsyncLogger(simpleLogger());
+        MDC.put("key", "value");
+        // when
+        logger.logInIfNecessary(invocation("a"), methodLog());
+        logger.logOutIfNecessary(invocation("a"), methodLog(), "b");
+        MDC.clear();
+        logger.close();
+        // then
+        assertThat(events, is(asList(
+                "eclair-async-logger-0 value > s=\"a\"",
+                "eclair-async-logger-0 value < \"b\"")));
+    }
+
+    @Test
+    public void logOnWorkerCapturedInvocation() throws Exception {
+        // given
+        SimpleLogger simpleLogger = spy(simpleLogger());
+        logger = new AsyncLogger(simpleLogger);
+        MethodInvocation invocation = invocation("a");
+        // when
+        logger.logInIfNecessary(invocation, methodLog());
+        logger.close();
+        // then
+        ArgumentCaptor<MethodInvocation> captor = ArgumentCaptor.forClass(MethodInvocation.class);
+        verify(simpleLogger).logIn(captor.capture(), any());
+        MethodInvocation captured = captor.getValue();
+        assertThat(captured.getMethod(), is(invocation.getMethod()));
+        assertThat(captured.getArguments(), is(new Object[]{"a"}));
+        assertThat(captured.getThis(), sameInstance(this));
+    }
+
+    @Test
+    public void dropWhenFull() throws Exception {
+        // given
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockFacade(entered, release);
+        logger = new AsyncLogger(simpleLogger(), 2, 1, DROP);
+        logger.logInIfNecessary(invocation("a"), methodLog());
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        logger.logInIfNecessary(invocation("b"), methodLog());
+        // when
+        logger.logInIfNecessary(invocation("c"), methodLog());
+        release.countDown();
+        logger.close();
+        // then
+        assertThat(logger.getDroppedEventCount(), is(1L));
+        assertThat(events, is(asList("> s=\"a\"", "> s=\"b\"")));
+    }
+
+    @Test
+    public void dropVerboseWhenFull() throws Exception {
+        // given
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockFacade(entered, release);
+        logger = new AsyncLogger(simpleLogger(), 2, 1, DROP_VERBOSE);
+        logger.logInIfNecessary(invocation("a"), methodLog());
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        logger.logInIfNecessary(invocation("b"), methodLog());
+        // when
+        logger.logInIfNecessary(invocation("c"), methodLog());
+        // then
+        verify(loggerFacade).log(DEBUG, ">");
+        release.countDown();
+        logger.close();
+        assertThat(logger.getVerboseDroppedEventCount(), is(1L));
+        assertThat(logger.getDroppedEventCount(), is(0L));
+    }
+
+    @Test
+    public void dropVerboseSkipsDisabledErrorLogWhenFull() throws Exception {
+        // given
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockFacade(entered, release);
+        logger = new AsyncLogger(simpleLogger(), 2, 1, DROP_VERBOSE);
+        logger.logInIfNecessary(invocation("a"), methodLog());
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        logger.logInIfNecessary(invocation("b"), methodLog());
+        MethodLog methodLog = methodLog();
+        ErrorLog errorLog = new ErrorLog(TRACE, OFF, TRACE, new ErrorLog.Filter(singleton(Throwable.class), emptySet()));
+        when(methodLog.findErrorLog(any())).thenReturn(errorLog);
+        // when
+        logger.logError(invocation("c"), methodLog, new RuntimeException());
+        // then
+        verify(loggerFacade, never()).log(any(), eq("!"));
+        verify(loggerFacade, never()).log(any(), eq("!"), any(Throwable.class));
+        release.countDown();
+        logger.close();
+        assertThat(logger.getVerboseDroppedEventCount(), is(1L));
+    }
+
+    @Test
+    public void blockWhenFull() throws Exception {
+        // given
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockFacade(entered, release);
+        logger = new AsyncLogger(simpleLogger(), 2, 1, BLOCK);
+        logger.logInIfNecessary(invocation("a"), methodLog());
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        logger.logInIfNecessary(invocation("b"), methodLog());
+        Thread producer = new Thread(() -> logger.logInIfNecessary(invocation("c"), methodLog()));
+        producer.start();
+        producer.join(100);
+        // when
+        boolean blocked = producer.isAlive();
+        release.countDown();
+        producer.join();
+        logger.close();
+        // then
+        assertTrue(blocked);
+        assertThat(events, is(asList("> s=\"a\"", "> s=\"b\"", "> s=\"c\"")));
+    }
+
+    @Test
+    public void logSynchronouslyAfterClose() throws Exception {
+        // given
+        logger = new AsyncLogger(simpleLogger());
+        logger.close();
+        // when
+        logger.logInIfNecessary(invocation("a"), methodLog());
+        // then
+        verify(loggerFacade).log(DEBUG, "> s=\"a\"");
+    }
+
+    @Test
+    public void logEventsEnqueuedConcurrentlyWithClose() throws Exception {
+        // given
+        AtomicInteger logged = new AtomicInteger();
+        doAnswer(invocation -> logged.incrementAndGet()).when(loggerFacade).log(eq(DEBUG), anyString());
+        logger = new AsyncLogger(simpleLogger(), 16, 2, BLOCK);
+        MethodInvocation invocation = invocation("a");
+        MethodLog methodLog = methodLog();
+        int producerCount = 4;
+        int eventCount = 2_000;
+        CountDownLatch started = new CountDownLatch(producerCount);
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < producerCount; i++) {
+            Thread producer = new Thread(() -> {
+                started.countDown();
+                for (int e = 0; e < eventCount; e++) {
+                    logger.logInIfNecessary(invocation, methodLog);
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // when
+        logger.close();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        // then
+        assertThat(logged.get(), is(producerCount * eventCount));
+    }
+
+    @Test
+    public void skipDisabledOnInvokingThread() throws Exception {
+        // given
+        MethodLog methodLog = methodLog();
+        when(methodLog.getInLog()).thenReturn(new InLog(LogLevel.TRACE, OFF, LogLevel.TRACE, singletonList(PrinterResolver.defaultPrinter)));
+        logger = new AsyncLogger(simpleLogger());
+        // when
+        logger.logInIfNecessary(invocation("a"), methodLog);
+        logger.close();
+        // then
+        verify(loggerFacade, never()).log(any(), anyString());
+    }
+
+    @Test
+    public void snapshotByDefaultStrategy() throws Exception {
+        // given
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockFacade(entered, release);
+        logger = new AsyncLogger(simpleLogger()).setSnapshotStrategy(PrintingSnapshotStrategy.getInstance());
+        logger.logInIfNecessary(invocation("a"), methodLog());
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        StringBuilder argument = new StringBuilder("b");
+        StringBuilder result = new StringBuilder("c");
+        // when
+        logger.logInIfNecessary(invocation(argument), methodLog());
+        logger.logOutIfNecessary(invocation(argument), methodLog(), result);
+        argument.append("-changed");
+        result.append("-changed");
+        release.countDown();
+        logger.close();
+        // then
+        assertThat(events, is(asList("> s=\"a\"", "> s=b", "< c")));
+    }
+
+    @Test
+    public void snapshotByPrinterStrategy() throws Exception {
+        // given
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockFacade(entered, release);
+        Printer printer = new ToStringPrinter().setSnapshotStrategy(PrintingSnapshotStrategy.getInstance());
+        MethodLog methodLog = methodLog();
+        when(methodLog.getInLog()).thenReturn(new InLog(DEBUG, OFF, DEBUG, singletonList(printer)));
+        logger = new AsyncLogger(simpleLogger());
+        logger.logInIfNecessary(invocation("a"), methodLog);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        StringBuilder argument = new StringBuilder("b");
+        StringBuilder result = new StringBuilder("c");
+        // when
+        logger.logInIfNecessary(invocation(argument), methodLog);
+        logger.logOutIfNecessary(invocation(argument), methodLog, result);
+        argument.append("-changed");
+        result.append("-changed");
+        release.countDown();
+        logger.close();
+        // then
+        assertThat(events, is(asList("> s=\"a\"", "> s=b", "< c-changed")));
+    }
+
+    @Test
+    public void printByDefaultPrinterIfSnapshotFails() throws Exception {
+        // given
+        Printer printer = new ToStringPrinter().setSnapshotStrategy((input, p) -> {
+            throw new IllegalStateException();
+        });
+        MethodLog methodLog = methodLog();
+        when(methodLog.getInLog()).thenReturn(new InLog(DEBUG, OFF, DEBUG, singletonList(printer)));
+        when(methodLog.getOutLog()).thenReturn(new OutLog(DEBUG, OFF, DEBUG, printer));
+        logger = new AsyncLogger(simpleLogger());
+        // when
+        logger.logInIfNecessary(invocation(new StringBuilder("b")), methodLog);
+        logger.logOutIfNecessary(invocation(new StringBuilder("b")), methodLog, new StringBuilder("c"));
+        logger.close();
+        // then
+        verify(loggerFacade).log(DEBUG, "> s=b");
+        verify(loggerFacade).log(DEBUG, "< c");
+        assertThat(logger.getDroppedEventCount(), is(0L));
+    }
+
+    @Test
+    public void survivePrinterStackOverflow() throws Exception {
+        // given
+        MethodLog failingMethodLog = methodLog();
+        when(failingMethodLog.getInLog()).thenReturn(new InLog(DEBUG, OFF, DEBUG, singletonList(new ThrowingPrinter(new StackOverflowError()))));
+        logger = new AsyncLogger(simpleLogger(), 2, 1, BLOCK);
+        // when
+        logger.logInIfNecessary(invocation("a"), failingMethodLog);
+        for (int i = 0; i < 5; i++) {
+            logger.logInIfNecessary(invocation("b"), methodLog());
+        }
+        logger.close();
+        // then
+        verify(loggerFacade, times(5)).log(DEBUG, "> s=\"b\"");
+        assertThat(logger.getDroppedEventCount(), is(1L));
+    }
+
+    @Test
+    public void logSynchronouslyIfWorkersDied() throws Exception {
+        // given
+        MethodLog failingMethodLog = methodLog();
+        when(failingMethodLog.getInLog()).thenReturn(new InLog(DEBUG, OFF, DEBUG, singletonList(new ThrowingPrinter(new OutOfMemoryError()))));
+        logger = new AsyncLogger(simpleLogger(), 2, 1, BLOCK);
+        Thread worker = findWorker();
+        logger.logInIfNecessary(invocation("a"), failingMethodLog);
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        // when
+        for (int i = 0; i < 3; i++) {
+            logger.logInIfNecessary(invocation("b"), methodLog());
+        }
+        // then
+        assertThat(worker.isAlive(), is(false));
+        verify(loggerFacade).log(DEBUG, "> s=\"b\"");
+    }
+
+    @Test
+    public void logDurationOnWorker() throws Exception {
+        // given
+        MethodLog methodLog = methodLog();
+        when(methodLog.getOutLog()).thenReturn(new OutLog(DEBUG, OFF, DEBUG, PrinterResolver.defaultPrinter, true));
+        logger = new AsyncLogger(simpleLogger());
+        // when
+        logger.logOutIfNecessary(invocation("a"), methodLog, "b", 2_000_000L);
+        logger.close();
+        // then
+        verify(loggerFacade).log(DEBUG, "< \"b\" (2.000 ms)");
+    }
+
+    @Test
+    public void parkIdleWorkerUntilPublished() throws Exception {
+        // given
+        logger = new AsyncLogger(simpleLogger());
+        Thread worker = findWorker();
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (worker.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        // when
+        Thread.State idleState = worker.getState();
+        logger.logInIfNecessary(invocation("a"), methodLog());
+        // then
+        assertThat(idleState, is(Thread.State.WAITING));
+        verify(loggerFacade, timeout(5000)).log(DEBUG, "> s=\"a\"");
+    }
+
+    private static Thread findWorker() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("eclair-async-logger-") && thread.isAlive())
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private void blockFacade(CountDownLatch entered, CountDownLatch release) {
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return events.add((String) invocation.getArguments()[1]);
+        }).when(loggerFacade).log(eq(DEBUG), anyString());
+    }
+
+    private SimpleLogger simpleLogger() {
+        LoggerFacadeFactory loggerFacadeFactory = mock(LoggerFacadeFactory.class);
+        when(loggerFacadeFactory.getLoggerFacade(any())).thenReturn(loggerFacade);
+        LoggingSystem loggingSystem = mock(LoggingSystem.class);
+        when(loggingSystem.getLoggerConfiguration(any())).thenReturn(new LoggerConfiguration("", null, DEBUG));
+        return new SimpleLogger(loggerFacadeFactory, loggingSystem);
+    }
+
+    private MethodInvocation invocation(Object argument) {
+        try {
+            Method method = AsyncLoggerTest.class.getDeclaredMethod("method", String.class);
+            MethodInvocation invocation = mock(MethodInvocation.class);
+            when(invocation.getMethod()).thenReturn(method);
+            when(invocation.getArguments()).thenReturn(new Object[]{argument});
+            when(invocation.getThis()).thenReturn(this);
+            return invocation;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MethodLog methodLog() {
+        MethodLog methodLog = mock(MethodLog.class);
+        when(methodLog.getLoggerName()).thenReturn("logger");
+        when(methodLog.getInLog()).thenReturn(new InLog(DEBUG, OFF, DEBUG, singletonList(PrinterResolver.defaultPrinter)));
+        when(methodLog.getOutLog()).thenReturn(new OutLog(DEBUG, OFF, DEBUG, PrinterResolver.defaultPrinter));
+        when(methodLog.getParameterLogs()).thenReturn(singletonList(null));
+        when(methodLog.getParameterNames()).thenReturn(singletonList("s"));
+        return methodLog;
+    }
+
+    private static class ThrowingPrinter extends Printer {
+
+        private final Error error;
+
+        private ThrowingPrinter(Error error) {
+            this.error = error;
+        }
+
+        @Override
+        protected String serialize(Object input) {
+            throw error;
+        }
+    }
+}
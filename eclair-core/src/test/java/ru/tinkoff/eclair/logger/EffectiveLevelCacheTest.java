@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+import static org.slf4j.LoggerFactory.getILoggerFactory;
+import static org.springframework.boot.logging.LogLevel.*;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class EffectiveLevelCacheTest {
+
+    private static final String LOGGER_NAME = "ru.tinkoff.eclair.logger.EffectiveLevelCacheTest.method";
+
+    private final LoggingSystem loggingSystem = LoggingSystem.get(EffectiveLevelCacheTest.class.getClassLoader());
+
+    @After
+    public void reset() {
+        loggingSystem.setLogLevel(LOGGER_NAME, null);
+    }
+
+    @Test
+    public void getCached() {
+        // given
+        LoggingSystem spiedLoggingSystem = spy(loggingSystem);
+        EffectiveLevelCache cache = EffectiveLevelCache.newInstance(spiedLoggingSystem);
+        loggingSystem.setLogLevel(LOGGER_NAME, INFO);
+        // when
+        LogLevel level = cache.get(LOGGER_NAME);
+        LogLevel cachedLevel = cache.get(LOGGER_NAME);
+        // then
+        assertTrue(cache.isEnabled());
+        assertThat(level, is(INFO));
+        assertThat(cachedLevel, is(INFO));
+        verify(spiedLoggingSystem).getLoggerConfiguration(LOGGER_NAME);
+    }
+
+    @Test
+    public void getInvalidatedByAnotherLoggingSystem() {
+        // given
+        EffectiveLevelCache cache = EffectiveLevelCache.newInstance(LoggingSystem.get(EffectiveLevelCacheTest.class.getClassLoader()));
+        loggingSystem.setLogLevel(LOGGER_NAME, INFO);
+        cache.get(LOGGER_NAME);
+        // when
+        loggingSystem.setLogLevel(LOGGER_NAME, TRACE);
+        LogLevel level = cache.get(LOGGER_NAME);
+        // then
+        assertThat(level, is(TRACE));
+    }
+
+    @Test
+    public void getInvalidatedByParentLevelChange() {
+        // given
+        EffectiveLevelCache cache = EffectiveLevelCache.newInstance(loggingSystem);
+        String parentLoggerName = "ru.tinkoff.eclair.logger";
+        loggingSystem.setLogLevel(parentLoggerName, WARN);
+        cache.get(LOGGER_NAME);
+        // when
+        loggingSystem.setLogLevel(parentLoggerName, DEBUG);
+        LogLevel level = cache.get(LOGGER_NAME);
+        loggingSystem.setLogLevel(parentLoggerName, null);
+        // then
+        assertThat(level, is(DEBUG));
+    }
+
+    @Test
+    public void getNotCachedWithoutInvalidation() {
+        // given
+        LoggingSystem loggingSystem = mock(LoggingSystem.class);
+        when(loggingSystem.getLoggerConfiguration(any())).thenReturn(new LoggerConfiguration("", null, DEBUG));
+        EffectiveLevelCache cache = EffectiveLevelCache.newInstance(loggingSystem);
+        // when
+        cache.get(LOGGER_NAME);
+        cache.get(LOGGER_NAME);
+        // then
+        assertFalse(cache.isEnabled());
+        verify(loggingSystem, times(2)).getLoggerConfiguration(LOGGER_NAME);
+    }
+
+    @Test
+    public void getNotCachedBeyondMaxSize() {
+        // given
+        LoggingSystem spiedLoggingSystem = spy(loggingSystem);
+        EffectiveLevelCache cache = EffectiveLevelCache.newInstance(spiedLoggingSystem, 1);
+        cache.get(LOGGER_NAME);
+        String anotherLoggerName = LOGGER_NAME + "Another";
+        // when
+        cache.get(anotherLoggerName);
+        cache.get(anotherLoggerName);
+        cache.get(LOGGER_NAME);
+        // then
+        assertThat(cache.size(), is(1));
+        verify(spiedLoggingSystem).getLoggerConfiguration(LOGGER_NAME);
+        verify(spiedLoggingSystem, times(2)).getLoggerConfiguration(anotherLoggerName);
+    }
+
+    @Test
+    public void removeListenerOfDiscardedCache() throws InterruptedException {
+        // given
+        LoggerContext loggerContext = (LoggerContext) getILoggerFactory();
+        List<LogbackLevelChangeListener> initialListeners = getLevelChangeListeners(loggerContext);
+        EffectiveLevelCache.newInstance(loggingSystem);
+        List<LogbackLevelChangeListener> listeners = getLevelChangeListeners(loggerContext);
+        listeners.removeAll(initialListeners);
+        assertThat(listeners.size(), is(1));
+        LogbackLevelChangeListener discardedListener = listeners.get(0);
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (!discardedListener.isStale() && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertTrue(discardedListener.isStale());
+        long aliveListenerCount = getLevelChangeListeners(loggerContext).stream().filter(listener -> !listener.isStale()).count();
+        // when
+        EffectiveLevelCache cache = EffectiveLevelCache.newInstance(loggingSystem);
+        // then
+        List<LogbackLevelChangeListener> registeredListeners = getLevelChangeListeners(loggerContext);
+        assertFalse(registeredListeners.contains(discardedListener));
+        assertThat((long) registeredListeners.size(), is(aliveListenerCount + 1));
+        assertTrue(cache.isEnabled());
+    }
+
+    private static List<LogbackLevelChangeListener> getLevelChangeListeners(LoggerContext loggerContext) {
+        List<LogbackLevelChangeListener> listeners = new ArrayList<>();
+        for (LoggerContextListener listener : loggerContext.getCopyOfListenerList()) {
+            if (listener instanceof LogbackLevelChangeListener) {
+                listeners.add((LogbackLevelChangeListener) listener);
+            }
+        }
+        return listeners;
+    }
+}
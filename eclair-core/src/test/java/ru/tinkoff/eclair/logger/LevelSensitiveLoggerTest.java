@@ -45,7 +45,7 @@ public class LevelSensitiveLoggerTest {
         // when
         boolean necessary = levelSensitiveLogger.isLogInNecessary(invocation, methodLog);
         // then
-        verify(levelSensitiveLogger).getLoggerName(invocation);
+        verify(methodLog).getLoggerName();
         verify(levelSensitiveLogger).isLogEnabled(any(), any());
         assertTrue(necessary);
     }
@@ -61,7 +61,7 @@ public class LevelSensitiveLoggerTest {
         // when
         boolean necessary = levelSensitiveLogger.isLogInNecessary(invocation, methodLog);
         // then
-        verify(levelSensitiveLogger).getLoggerName(invocation);
+        verify(methodLog).getLoggerName();
         verify(levelSensitiveLogger).isLogEnabled(any(), any());
         assertFalse(necessary);
     }
@@ -77,7 +77,7 @@ public class LevelSensitiveLoggerTest {
         // when
         boolean necessary = levelSensitiveLogger.isLogInNecessary(invocation, methodLog);
         // then
-        verify(levelSensitiveLogger).getLoggerName(invocation);
+        verify(methodLog).getLoggerName();
         verify(levelSensitiveLogger, times(2)).isLogEnabled(any(), any());
         assertTrue(necessary);
     }
@@ -93,7 +93,7 @@ public class LevelSensitiveLoggerTest {
         // when
         boolean necessary = levelSensitiveLogger.isLogInNecessary(invocation, methodLog);
         // then
-        verify(levelSensitiveLogger).getLoggerName(invocation);
+        verify(methodLog).getLoggerName();
         verify(levelSensitiveLogger, times(2)).isLogEnabled(any(), any());
         assertFalse(necessary);
     }
@@ -109,7 +109,7 @@ public class LevelSensitiveLoggerTest {
         // when
         boolean necessary = levelSensitiveLogger.isLogInNecessary(invocation, methodLog);
         // then
-        verify(levelSensitiveLogger).getLoggerName(invocation);
+        verify(methodLog).getLoggerName();
         verify(levelSensitiveLogger).isLogEnabled(any(), any());
         assertTrue(necessary);
     }
@@ -124,7 +124,7 @@ public class LevelSensitiveLoggerTest {
         // when
         boolean necessary = levelSensitiveLogger.isLogInNecessary(invocation, methodLog);
         // then
-        verify(levelSensitiveLogger).getLoggerName(invocation);
+        verify(methodLog).getLoggerName();
         verify(levelSensitiveLogger, never()).isLogEnabled(any(), any());
         assertFalse(necessary);
     }
@@ -140,7 +140,7 @@ public class LevelSensitiveLoggerTest {
         // when
         boolean necessary = levelSensitiveLogger.isLogOutNecessary(invocation, methodLog);
         // then
-        verify(levelSensitiveLogger).getLoggerName(invocation);
+        verify(methodLog).getLoggerName();
         verify(levelSensitiveLogger).isLogEnabled(any(), any());
         assertTrue(necessary);
     }
@@ -156,7 +156,7 @@ public class LevelSensitiveLoggerTest {
         // when
         boolean necessary = levelSensitiveLogger.isLogOutNecessary(invocation, methodLog);
         // then
-        verify(levelSensitiveLogger).getLoggerName(invocation);
+        verify(methodLog).getLoggerName();
         verify(levelSensitiveLogger).isLogEnabled(any(), any());
         assertFalse(necessary);
     }
@@ -171,7 +171,7 @@ public class LevelSensitiveLoggerTest {
         // when
         boolean necessary = levelSensitiveLogger.isLogOutNecessary(invocation, methodLog);
         // then
-        verify(levelSensitiveLogger, never()).getLoggerName(invocation);
+        verify(methodLog, never()).getLoggerName();
         verify(levelSensitiveLogger, never()).isLogEnabled(any(), any());
         assertFalse(necessary);
     }
@@ -189,7 +189,7 @@ public class LevelSensitiveLoggerTest {
         // when
         boolean necessary = levelSensitiveLogger.isLogErrorNecessary(invocation, methodLog, throwable);
         // then
-        verify(levelSensitiveLogger).getLoggerName(invocation);
+        verify(methodLog).getLoggerName();
         verify(levelSensitiveLogger).isLogEnabled(any(), any());
         assertTrue(necessary);
     }
@@ -207,7 +207,7 @@ public class LevelSensitiveLoggerTest {
         // when
         boolean necessary = levelSensitiveLogger.isLogErrorNecessary(invocation, methodLog, throwable);
         // then
-        verify(levelSensitiveLogger).getLoggerName(invocation);
+        verify(methodLog).getLoggerName();
         verify(levelSensitiveLogger).isLogEnabled(any(), any());
         assertFalse(necessary);
     }
@@ -224,7 +224,7 @@ public class LevelSensitiveLoggerTest {
         // when
         boolean necessary = levelSensitiveLogger.isLogErrorNecessary(invocation, methodLog, throwable);
         // then
-        verify(levelSensitiveLogger, never()).getLoggerName(invocation);
+        verify(methodLog, never()).getLoggerName();
         verify(levelSensitiveLogger, never()).isLogEnabled(any(), any());
         assertFalse(necessary);
     }
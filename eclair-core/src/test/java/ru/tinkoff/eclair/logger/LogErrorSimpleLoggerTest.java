@@ -62,7 +62,7 @@ public class LogErrorSimpleLoggerTest {
                 .effectiveLevel(DEBUG)
                 .buildAndInvokeAndGet(null, null);
         // then
-        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any(), any());
+        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any(), (Throwable) any());
         verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any());
     }
 
@@ -78,7 +78,7 @@ public class LogErrorSimpleLoggerTest {
                 .effectiveLevel(ERROR)
                 .buildAndInvokeAndGet();
         // then
-        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any(), any());
+        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any(), (Throwable) any());
         verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any());
     }
 
@@ -94,7 +94,7 @@ public class LogErrorSimpleLoggerTest {
                 .effectiveLevel(OFF)
                 .buildAndInvokeAndGet();
         // then
-        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any(), any());
+        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any(), (Throwable) any());
         verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any());
     }
 
@@ -110,7 +110,7 @@ public class LogErrorSimpleLoggerTest {
                 .effectiveLevel(DEBUG)
                 .buildAndInvokeAndGet();
         // then
-        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any(), any());
+        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any(), (Throwable) any());
         verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any());
     }
 
@@ -157,7 +157,7 @@ public class LogErrorSimpleLoggerTest {
                 .effectiveLevel(TRACE)
                 .buildAndInvokeAndGet();
         // then
-        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any(), any());
+        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any(), (Throwable) any());
         verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any());
     }
 
@@ -189,10 +189,43 @@ public class LogErrorSimpleLoggerTest {
                 .effectiveLevel(DEBUG)
                 .buildAndInvokeAndGet(null, outLog);
         // then
-        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any(), any());
+        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any(), (Throwable) any());
         verify(logger.getLoggerFacadeFactory().getLoggerFacade(any())).log(DEBUG, "!");
     }
 
+    @Test
+    public void duration() {
+        // given
+        RuntimeException throwable = new RuntimeException("message");
+        ErrorLog errorLog = new ErrorLog(ERROR, OFF, ERROR, new ErrorLog.Filter(singleton(Throwable.class), emptySet()));
+        OutLog outLog = new OutLog(DEBUG, OFF, DEBUG, new ToStringPrinter(), true);
+        // when
+        SimpleLogger logger = new SimpleLoggerBuilder()
+                .method(method)
+                .throwable(throwable)
+                .durationNanos(5_000L)
+                .effectiveLevel(DEBUG)
+                .buildAndInvokeAndGet(errorLog, outLog);
+        // then
+        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any())).log(ERROR, "! java.lang.RuntimeException: message (0.005 ms)", throwable);
+    }
+
+    @Test
+    public void durationOfOutLogInsteadOfErrorLog() {
+        // given
+        Throwable throwable = new RuntimeException();
+        OutLog outLog = new OutLog(DEBUG, OFF, DEBUG, new ToStringPrinter(), true);
+        // when
+        SimpleLogger logger = new SimpleLoggerBuilder()
+                .method(method)
+                .throwable(throwable)
+                .durationNanos(1_500_000_000L)
+                .effectiveLevel(DEBUG)
+                .buildAndInvokeAndGet(null, outLog);
+        // then
+        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any())).log(DEBUG, "! (1500.000 ms)");
+    }
+
     private static class SimpleLoggerBuilder {
 
         private static final ErrorLog.Filter defaultFilter = new ErrorLog.Filter(singleton(Throwable.class), emptySet());
@@ -223,6 +256,7 @@ public class LogErrorSimpleLoggerTest {
         private ErrorLog.Filter filter = defaultFilter;
 
         private LogLevel effectiveLevel;
+        private long durationNanos = EclairLogger.NO_DURATION;
 
         private SimpleLoggerBuilder method(Method method) {
             this.method = method;
@@ -246,6 +280,11 @@ public class LogErrorSimpleLoggerTest {
             return this;
         }
 
+        private SimpleLoggerBuilder durationNanos(long durationNanos) {
+            this.durationNanos = durationNanos;
+            return this;
+        }
+
         private SimpleLogger buildAndInvokeAndGet() {
             ErrorLog errorLog = new ErrorLog(level, ifEnabledLevel, verboseLevel, filter);
             OutLog outLog = new OutLog(outLevel, outIfEnabledLevel, outVerboseLevel, new ToStringPrinter());
@@ -255,7 +294,7 @@ public class LogErrorSimpleLoggerTest {
         private SimpleLogger buildAndInvokeAndGet(ErrorLog errorLog, OutLog outLog) {
             MethodInvocation invocation = methodInvocation(method);
             SimpleLogger simpleLogger = new SimpleLogger(loggerFacadeFactory(), loggingSystem(effectiveLevel));
-            simpleLogger.logErrorIfNecessary(invocation, methodLog(outLog, errorLog), throwable);
+            simpleLogger.logErrorIfNecessary(invocation, methodLog(outLog, errorLog), throwable, durationNanos);
             return simpleLogger;
         }
 
@@ -473,6 +473,7 @@ public class LogInSimpleLoggerTest {
         // given
         Printer printer = mock(Printer.class);
         when(printer.print(any())).thenThrow(new RuntimeException());
+        doThrow(new RuntimeException()).when(printer).print(any(), any());
         // when
         SimpleLogger logger = new SimpleLoggerBuilder()
                 .method(methodWithParameters)
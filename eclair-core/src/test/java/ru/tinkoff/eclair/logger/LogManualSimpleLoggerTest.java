@@ -43,7 +43,7 @@ public class LogManualSimpleLoggerTest {
                 .arguments("argument")
                 .buildAndInvokeAndGet();
         // then
-        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any(), any());
+        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any(), (Object) any());
     }
 
     @Test
@@ -56,7 +56,7 @@ public class LogManualSimpleLoggerTest {
                 .arguments("argument")
                 .buildAndInvokeAndGet();
         // then
-        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any(), any());
+        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any()), never()).log(any(), any(), (Object) any());
     }
 
     @Test
@@ -18,11 +18,13 @@ package ru.tinkoff.eclair.logger;
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.boot.logging.LogLevel;
 import org.springframework.boot.logging.LoggerConfiguration;
 import org.springframework.boot.logging.LoggingSystem;
 import ru.tinkoff.eclair.definition.OutLog;
 import ru.tinkoff.eclair.definition.method.MethodLog;
+import ru.tinkoff.eclair.logger.facade.BufferedLoggerFacade;
 import ru.tinkoff.eclair.logger.facade.LoggerFacadeFactory;
 import ru.tinkoff.eclair.printer.Printer;
 import ru.tinkoff.eclair.printer.ToStringPrinter;
@@ -30,7 +32,11 @@ import ru.tinkoff.eclair.printer.ToStringPrinter;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.boot.logging.LogLevel.*;
 
@@ -193,6 +199,28 @@ public class LogOutSimpleLoggerTest {
         verify(logger.getLoggerFacadeFactory().getLoggerFacade(any())).log(DEBUG, "< !");
     }
 
+    @Test
+    public void bufferedLoggerFacade() {
+        // given
+        BufferedLoggerFacade loggerFacade = mock(BufferedLoggerFacade.class);
+        LoggerFacadeFactory loggerFacadeFactory = mock(LoggerFacadeFactory.class);
+        when(loggerFacadeFactory.getLoggerFacade(any())).thenReturn(loggerFacade);
+        LoggingSystem loggingSystem = mock(LoggingSystem.class);
+        when(loggingSystem.getLoggerConfiguration(any())).thenReturn(new LoggerConfiguration("", null, DEBUG));
+        SimpleLogger logger = new SimpleLogger(loggerFacadeFactory, loggingSystem);
+        MethodLog methodLog = mock(MethodLog.class);
+        when(methodLog.getOutLog()).thenReturn(new OutLog(DEBUG, OFF, DEBUG, new ToStringPrinter()));
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(method);
+        ArgumentCaptor<StringBuilder> captor = ArgumentCaptor.forClass(StringBuilder.class);
+        // when
+        logger.logOutIfNecessary(invocation, methodLog, new BigDecimal("123.456"));
+        // then
+        verify(loggerFacade).log(eq(DEBUG), captor.capture(), (Throwable) isNull());
+        verify(loggerFacade, never()).log(any(), any());
+        assertThat(captor.getValue().toString(), is("< 123.456"));
+    }
+
     @Test
     public void levelIsOff() {
         // given, when
@@ -235,6 +263,7 @@ public class LogOutSimpleLoggerTest {
         // given
         Printer printer = mock(Printer.class);
         when(printer.print(any())).thenThrow(new RuntimeException());
+        doThrow(new RuntimeException()).when(printer).print(any(), any());
         // when
         SimpleLogger logger = new SimpleLoggerBuilder()
                 .method(method)
@@ -247,6 +276,35 @@ public class LogOutSimpleLoggerTest {
         verify(logger.getLoggerFacadeFactory().getLoggerFacade(any())).log(DEBUG, "< 123.456");
     }
 
+    @Test
+    public void duration() {
+        // given
+        OutLog outLog = new OutLog(DEBUG, OFF, DEBUG, new ToStringPrinter(), true);
+        // when
+        SimpleLogger logger = new SimpleLoggerBuilder()
+                .method(method)
+                .result(new BigDecimal("123.456"))
+                .durationNanos(12_034_567L)
+                .effectiveLevel(DEBUG)
+                .buildAndInvokeAndGet(outLog);
+        // then
+        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any())).log(DEBUG, "< 123.456 (12.034 ms)");
+    }
+
+    @Test
+    public void durationNotRequested() {
+        // given, when
+        SimpleLogger logger = new SimpleLoggerBuilder()
+                .method(method)
+                .result(new BigDecimal("123.456"))
+                .durationNanos(12_034_567L)
+                .levels(DEBUG, OFF, DEBUG)
+                .effectiveLevel(DEBUG)
+                .buildAndInvokeAndGet();
+        // then
+        verify(logger.getLoggerFacadeFactory().getLoggerFacade(any())).log(DEBUG, "< 123.456");
+    }
+
     private static class SimpleLoggerBuilder {
 
         private Method method;
@@ -256,6 +314,7 @@ public class LogOutSimpleLoggerTest {
         private LogLevel verboseLevel = DEBUG;
         private Printer printer = new ToStringPrinter();
         private LogLevel effectiveLevel;
+        private long durationNanos = EclairLogger.NO_DURATION;
 
         private SimpleLoggerBuilder method(Method method) {
             this.method = method;
@@ -284,6 +343,11 @@ public class LogOutSimpleLoggerTest {
             return this;
         }
 
+        private SimpleLoggerBuilder durationNanos(long durationNanos) {
+            this.durationNanos = durationNanos;
+            return this;
+        }
+
         private SimpleLogger buildAndInvokeAndGet() {
             OutLog outLog = new OutLog(level, ifEnabledLevel, verboseLevel, printer);
             return buildAndInvokeAndGet(outLog);
@@ -292,7 +356,7 @@ public class LogOutSimpleLoggerTest {
         private SimpleLogger buildAndInvokeAndGet(OutLog outLog) {
             MethodInvocation invocation = methodInvocation(method);
             SimpleLogger simpleLogger = new SimpleLogger(loggerFacadeFactory(), loggingSystem(effectiveLevel));
-            simpleLogger.logOutIfNecessary(invocation, methodLog(outLog), result);
+            simpleLogger.logOutIfNecessary(invocation, methodLog(outLog), result, durationNanos);
             return simpleLogger;
         }
 
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class MessageBuilderCacheTest {
+
+    private final MessageBuilderCache messageBuilderCache = new MessageBuilderCache();
+
+    @Test
+    public void acquireReused() {
+        // given
+        StringBuilder builder = messageBuilderCache.acquire().append("message");
+        messageBuilderCache.release(builder);
+        // when
+        StringBuilder reusedBuilder = messageBuilderCache.acquire();
+        // then
+        assertThat(reusedBuilder, sameInstance(builder));
+        assertThat(reusedBuilder.length(), is(0));
+    }
+
+    @Test
+    public void acquireReentrant() {
+        // given
+        StringBuilder builder = messageBuilderCache.acquire();
+        // when
+        StringBuilder nestedBuilder = messageBuilderCache.acquire();
+        messageBuilderCache.release(nestedBuilder);
+        // then
+        assertThat(nestedBuilder, not(sameInstance(builder)));
+        assertThat(messageBuilderCache.acquire(), not(sameInstance(builder)));
+    }
+
+    @Test
+    public void acquireOversizedNotRetained() {
+        // given
+        StringBuilder builder = messageBuilderCache.acquire();
+        builder.ensureCapacity(MessageBuilderCache.MAX_CAPACITY + 1);
+        messageBuilderCache.release(builder);
+        // when
+        StringBuilder nextBuilder = messageBuilderCache.acquire();
+        // then
+        assertThat(nextBuilder, not(sameInstance(builder)));
+        assertThat(nextBuilder.capacity(), lessThanOrEqualTo(MessageBuilderCache.MAX_CAPACITY));
+    }
+}
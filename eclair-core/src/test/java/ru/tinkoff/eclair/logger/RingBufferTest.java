@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class RingBufferTest {
+
+    @Test
+    public void capacityRoundedUp() {
+        // when
+        RingBuffer<Object> buffer = new RingBuffer<>(5, Object::new);
+        // then
+        assertThat(buffer.getCapacity(), is(8));
+    }
+
+    @Test
+    public void capacityAtLeastTwo() {
+        // when
+        RingBuffer<Object> buffer = new RingBuffer<>(1, Object::new);
+        // then
+        assertThat(buffer.getCapacity(), is(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityNotPositive() {
+        // when
+        new RingBuffer<>(0, Object::new);
+    }
+
+    @Test
+    public void claimUntilFull() {
+        // given
+        RingBuffer<Object> buffer = new RingBuffer<>(2, Object::new);
+        // when
+        long first = buffer.tryClaim();
+        long second = buffer.tryClaim();
+        long third = buffer.tryClaim();
+        // then
+        assertThat(first, is(0L));
+        assertThat(second, is(1L));
+        assertThat(third, is(RingBuffer.UNAVAILABLE));
+    }
+
+    @Test
+    public void takeOnlyPublished() {
+        // given
+        RingBuffer<Object> buffer = new RingBuffer<>(2, Object::new);
+        long first = buffer.tryClaim();
+        long second = buffer.tryClaim();
+        buffer.publish(second);
+        // when
+        long notPublished = buffer.tryTake();
+        buffer.publish(first);
+        long taken = buffer.tryTake();
+        // then
+        assertThat(notPublished, is(RingBuffer.UNAVAILABLE));
+        assertThat(taken, is(first));
+    }
+
+    @Test
+    public void claimAfterRelease() {
+        // given
+        RingBuffer<Object> buffer = new RingBuffer<>(2, Object::new);
+        Object slot = buffer.get(0);
+        buffer.publish(buffer.tryClaim());
+        buffer.publish(buffer.tryClaim());
+        long full = buffer.tryClaim();
+        buffer.release(buffer.tryTake());
+        // when
+        long position = buffer.tryClaim();
+        // then
+        assertThat(full, is(RingBuffer.UNAVAILABLE));
+        assertThat(position, is(2L));
+        assertThat(buffer.get(position) == slot, is(true));
+    }
+
+    @Test
+    public void concurrentProducersAndConsumers() throws InterruptedException {
+        // given
+        RingBuffer<long[]> buffer = new RingBuffer<>(64, () -> new long[1]);
+        int producerCount = 4;
+        int consumerCount = 2;
+        int valueCount = 100000;
+        AtomicLong sum = new AtomicLong();
+        AtomicLong consumed = new AtomicLong();
+        Thread[] producers = new Thread[producerCount];
+        for (int p = 0; p < producerCount; p++) {
+            producers[p] = new Thread(() -> {
+                for (int v = 1; v <= valueCount; v++) {
+                    long position;
+                    while ((position = buffer.tryClaim()) == RingBuffer.UNAVAILABLE) {
+                        Thread.yield();
+                    }
+                    buffer.get(position)[0] = v;
+                    buffer.publish(position);
+                }
+            });
+        }
+        Thread[] consumers = new Thread[consumerCount];
+        for (int c = 0; c < consumerCount; c++) {
+            consumers[c] = new Thread(() -> {
+                while (consumed.get() < (long) producerCount * valueCount) {
+                    long position = buffer.tryTake();
+                    if (position == RingBuffer.UNAVAILABLE) {
+                        Thread.yield();
+                        continue;
+                    }
+                    sum.addAndGet(buffer.get(position)[0]);
+                    buffer.release(position);
+                    consumed.incrementAndGet();
+                }
+            });
+        }
+        // when
+        for (Thread thread : consumers) {
+            thread.start();
+        }
+        for (Thread thread : producers) {
+            thread.start();
+        }
+        for (Thread thread : producers) {
+            thread.join();
+        }
+        for (Thread thread : consumers) {
+            thread.join();
+        }
+        // then
+        assertThat(sum.get(), is((long) producerCount * valueCount * (valueCount + 1) / 2));
+        assertThat(buffer.isEmpty(), is(true));
+    }
+}
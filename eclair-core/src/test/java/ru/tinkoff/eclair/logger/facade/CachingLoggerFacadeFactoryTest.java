@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger.facade;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class CachingLoggerFacadeFactoryTest {
+
+    @Test
+    public void getLoggerFacadeCached() {
+        // given
+        LoggerFacadeFactory delegate = givenLoggerFacadeFactory();
+        LoggerFacadeFactory loggerFacadeFactory = new CachingLoggerFacadeFactory(delegate);
+        // when
+        LoggerFacade loggerFacade = loggerFacadeFactory.getLoggerFacade("a");
+        LoggerFacade cachedLoggerFacade = loggerFacadeFactory.getLoggerFacade("a");
+        loggerFacadeFactory.getLoggerFacade("b");
+        // then
+        assertThat(cachedLoggerFacade, sameInstance(loggerFacade));
+        verify(delegate).getLoggerFacade("a");
+        verify(delegate).getLoggerFacade("b");
+    }
+
+    @Test
+    public void getLoggerFacadeBeyondMaxSize() {
+        // given
+        LoggerFacadeFactory delegate = givenLoggerFacadeFactory();
+        LoggerFacadeFactory loggerFacadeFactory = new CachingLoggerFacadeFactory(delegate, 1);
+        // when
+        loggerFacadeFactory.getLoggerFacade("a");
+        loggerFacadeFactory.getLoggerFacade("a");
+        loggerFacadeFactory.getLoggerFacade("b");
+        loggerFacadeFactory.getLoggerFacade("b");
+        // then
+        verify(delegate).getLoggerFacade("a");
+        verify(delegate, times(2)).getLoggerFacade("b");
+    }
+
+    @Test
+    public void getLoggerFacadeConcurrentlyWithinMaxSize() throws InterruptedException {
+        // given
+        CachingLoggerFacadeFactory loggerFacadeFactory = new CachingLoggerFacadeFactory(name -> mock(LoggerFacade.class), 10);
+        int threadCount = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            int offset = t * 100;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 100; i++) {
+                    loggerFacadeFactory.getLoggerFacade(String.valueOf(offset + i));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        // when
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // then
+        assertThat(loggerFacadeFactory.size(), is(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void newInstanceNegativeMaxSize() {
+        // when
+        new CachingLoggerFacadeFactory(givenLoggerFacadeFactory(), -1);
+    }
+
+    private LoggerFacadeFactory givenLoggerFacadeFactory() {
+        LoggerFacadeFactory loggerFacadeFactory = mock(LoggerFacadeFactory.class);
+        when(loggerFacadeFactory.getLoggerFacade(anyString())).thenAnswer(invocation -> mock(LoggerFacade.class));
+        return loggerFacadeFactory;
+    }
+}
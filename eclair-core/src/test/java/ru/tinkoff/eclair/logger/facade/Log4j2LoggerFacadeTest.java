@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger.facade;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ReusableMessage;
+import org.apache.logging.log4j.spi.ExtendedLogger;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.boot.logging.LogLevel.*;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class Log4j2LoggerFacadeTest {
+
+    private final List<String> texts = new ArrayList<>();
+    private final List<Message> messages = new ArrayList<>();
+
+    @Test
+    public void logBuffered() {
+        // given
+        ExtendedLogger logger = givenLogger();
+        BufferedLoggerFacade loggerFacade = new Log4j2LoggerFacade(logger);
+        StringBuilder builder = new StringBuilder("> s=\"{}\"");
+        // when
+        loggerFacade.log(DEBUG, builder, null);
+        loggerFacade.log(INFO, builder.append(", i=1"), null);
+        // then
+        assertThat(texts, contains("> s=\"{}\"", "> s=\"{}\", i=1"));
+        assertThat(messages.get(0), instanceOf(ReusableMessage.class));
+        assertThat(messages.get(1), sameInstance(messages.get(0)));
+        verify(logger).logIfEnabled(anyString(), eq(Level.DEBUG), any(), any(Message.class), (Throwable) isNull());
+        verify(logger).logIfEnabled(anyString(), eq(Level.INFO), any(), any(Message.class), (Throwable) isNull());
+    }
+
+    @Test
+    public void logWithThrowable() {
+        // given
+        ExtendedLogger logger = givenLogger();
+        LoggerFacade loggerFacade = new Log4j2LoggerFacade(logger);
+        Throwable throwable = new RuntimeException();
+        // when
+        loggerFacade.log(FATAL, "!", throwable);
+        // then
+        assertThat(texts, contains("!"));
+        verify(logger).logIfEnabled(anyString(), eq(Level.FATAL), any(), any(Message.class), eq(throwable));
+    }
+
+    @Test
+    public void logReentrant() {
+        // given
+        ExtendedLogger logger = mock(ExtendedLogger.class);
+        LoggerFacade loggerFacade = new Log4j2LoggerFacade(logger);
+        doAnswer(invocation -> {
+            Message message = (Message) invocation.getArguments()[3];
+            if (message.getFormattedMessage().equals("outer")) {
+                loggerFacade.log(DEBUG, "inner");
+            }
+            texts.add(message.getFormattedMessage());
+            return null;
+        }).when(logger).logIfEnabled(anyString(), any(Level.class), any(), any(Message.class), any());
+        // when
+        loggerFacade.log(DEBUG, "outer");
+        // then
+        assertThat(texts, contains("inner", "outer"));
+    }
+
+    @Test
+    public void logOff() {
+        // given
+        ExtendedLogger logger = givenLogger();
+        LoggerFacade loggerFacade = new Log4j2LoggerFacade(logger);
+        // when
+        loggerFacade.log(OFF, "<");
+        // then
+        verifyZeroInteractions(logger);
+    }
+
+    private ExtendedLogger givenLogger() {
+        ExtendedLogger logger = mock(ExtendedLogger.class);
+        doAnswer(invocation -> {
+            Message message = (Message) invocation.getArguments()[3];
+            StringBuilder buffer = new StringBuilder();
+            ((ReusableMessage) message).formatTo(buffer);
+            texts.add(buffer.toString());
+            messages.add(message);
+            return null;
+        }).when(logger).logIfEnabled(anyString(), any(Level.class), any(), any(Message.class), any());
+        return logger;
+    }
+}
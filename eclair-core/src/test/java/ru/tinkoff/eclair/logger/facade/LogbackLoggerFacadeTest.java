@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.logger.facade;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.springframework.boot.logging.LogLevel.*;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class LogbackLoggerFacadeTest {
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private LoggerFacade loggerFacade;
+
+    @Before
+    public void init() {
+        LoggerContext loggerContext = new LoggerContext();
+        Logger logger = loggerContext.getLogger(LogbackLoggerFacadeTest.class);
+        logger.setLevel(Level.DEBUG);
+        logger.addAppender(appender);
+        appender.start();
+        loggerFacade = new LogbackLoggerFacadeFactory(loggerContext).getLoggerFacade(LogbackLoggerFacadeTest.class.getName());
+    }
+
+    @Test
+    public void logMessage() {
+        // when
+        loggerFacade.log(INFO, "> s=\"{}\"");
+        // then
+        assertThat(appender.list, hasSize(1));
+        ILoggingEvent event = appender.list.get(0);
+        assertThat(event.getLevel(), is(Level.INFO));
+        assertThat(event.getFormattedMessage(), is("> s=\"{}\""));
+        assertThat(event.getArgumentArray(), nullValue());
+    }
+
+    @Test
+    public void logMessageWithThrowable() {
+        // given
+        Throwable throwable = new RuntimeException("message");
+        // when
+        loggerFacade.log(FATAL, "!", throwable);
+        // then
+        assertThat(appender.list, hasSize(1));
+        ILoggingEvent event = appender.list.get(0);
+        assertThat(event.getLevel(), is(Level.ERROR));
+        assertThat(event.getFormattedMessage(), is("!"));
+        assertThat(event.getThrowableProxy().getMessage(), is("message"));
+    }
+
+    @Test
+    public void logFormat() {
+        // when
+        loggerFacade.log(DEBUG, "- {} {}", "0", 1);
+        // then
+        assertThat(appender.list, hasSize(1));
+        assertThat(appender.list.get(0).getFormattedMessage(), is("- 0 1"));
+    }
+
+    @Test
+    public void logDisabled() {
+        // when
+        loggerFacade.log(TRACE, "<");
+        loggerFacade.log(OFF, "<");
+        // then
+        assertThat(appender.list, empty());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static ru.tinkoff.eclair.printer.BinaryPrinter.Encoding.BASE64;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class BinaryPrinterTest {
+
+    @Test
+    public void supports() {
+        // given
+        BinaryPrinter printer = new BinaryPrinter();
+        // when
+        boolean supportsBytes = printer.supports(byte[].class);
+        boolean supportsByteBuffer = printer.supports(ByteBuffer.allocateDirect(1).getClass());
+        boolean supportsInts = printer.supports(int[].class);
+        // then
+        assertTrue(supportsBytes);
+        assertTrue(supportsByteBuffer);
+        assertFalse(supportsInts);
+    }
+
+    @Test
+    public void printHex() {
+        // given
+        byte[] bytes = {0x00, 0x0a, (byte) 0xff, 0x7f};
+        // when
+        String result = new BinaryPrinter().print(bytes);
+        // then
+        assertThat(result, is("000aff7f"));
+    }
+
+    @Test
+    public void printBase64() {
+        // given
+        BinaryPrinter printer = new BinaryPrinter().setEncoding(BASE64).setMaxBytes(0);
+        byte[] bytes = new byte[2000];
+        new Random(0).nextBytes(bytes);
+        for (int length = 0; length < 6; length++) {
+            byte[] small = new byte[length];
+            System.arraycopy(bytes, 0, small, 0, length);
+            // when
+            String result = printer.print(small);
+            // then
+            assertThat(result, is(Base64.getEncoder().encodeToString(small)));
+        }
+        assertThat(printer.print(bytes), is(Base64.getEncoder().encodeToString(bytes)));
+    }
+
+    @Test
+    public void printLimited() {
+        // given
+        BinaryPrinter printer = new BinaryPrinter().setMaxBytes(2);
+        byte[] bytes = {0x01, 0x02, 0x03, 0x04};
+        // when
+        String result = printer.print(bytes);
+        // then
+        assertThat(result, is("0102...(4 bytes)"));
+    }
+
+    @Test
+    public void printHeapByteBufferWithoutPositionChange() {
+        // given
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{0x01, 0x02, 0x03, 0x04, 0x05}, 1, 3).slice();
+        buffer.position(1);
+        // when
+        String result = new BinaryPrinter().print(buffer);
+        // then
+        assertThat(result, is("0304"));
+        assertThat(buffer.position(), is(1));
+    }
+
+    @Test
+    public void printDirectByteBufferWithoutPositionChange() {
+        // given
+        byte[] bytes = new byte[2000];
+        new Random(0).nextBytes(bytes);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.position(1);
+        BinaryPrinter printer = new BinaryPrinter().setEncoding(BASE64).setMaxBytes(0);
+        byte[] expected = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 1, expected, 0, expected.length);
+        // when
+        String result = printer.print(buffer);
+        // then
+        assertThat(result, is(Base64.getEncoder().encodeToString(expected)));
+        assertThat(buffer.position(), is(1));
+    }
+
+    @Test
+    public void printIntoWriter() {
+        // given
+        BinaryPrinter printer = new BinaryPrinter();
+        StringWriter writer = new StringWriter();
+        // when
+        printer.print(ByteBuffer.wrap(new byte[]{0x10, 0x20}).asReadOnlyBuffer(), writer);
+        // then
+        assertThat(writer.toString(), is("1020"));
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class FieldPrinterTest {
+
+    private final FieldPrinter printer = new FieldPrinter();
+
+    @Test
+    public void printFields() {
+        // given
+        Dto dto = new Dto();
+        dto.i = 1;
+        dto.s = "s";
+        // when
+        String result = printer.print(dto);
+        // then
+        assertThat(result, is("Dto{i=1, s=s, child=null}"));
+    }
+
+    @Test
+    public void printInheritedFieldsFirst() {
+        // given
+        ExtendedDto dto = new ExtendedDto();
+        dto.i = 1;
+        dto.l = 2L;
+        // when
+        String result = printer.print(dto);
+        // then
+        assertThat(result, is("ExtendedDto{i=1, s=null, child=null, l=2}"));
+    }
+
+    @Test
+    public void printSkipsStaticAndTransientFields() {
+        // given
+        SkippedFieldsDto dto = new SkippedFieldsDto();
+        // when
+        String result = printer.print(dto);
+        // then
+        assertThat(result, is("SkippedFieldsDto{value=v}"));
+    }
+
+    @Test
+    public void supports() {
+        assertTrue(printer.supports(Object.class));
+        assertTrue(printer.supports(int[].class));
+        assertFalse(printer.supports(List.class));
+        assertFalse(printer.supports(LinkedHashMap.class));
+    }
+
+    @Test
+    public void printOverriddenToString() {
+        // given
+        ToStringDto dto = new ToStringDto();
+        // when
+        String result = printer.print(singletonList(dto));
+        // then
+        assertThat(result, is("[toString]"));
+    }
+
+    @Test
+    public void printDepthLimited() {
+        // given
+        Dto dto = new Dto();
+        dto.child = new Dto();
+        dto.child.child = new Dto();
+        // when
+        String result = new FieldPrinter().setMaxDepth(1).print(dto);
+        // then
+        assertThat(result, is("Dto{i=0, s=null, child=Dto{...}}"));
+    }
+
+    @Test
+    public void printDeeplyNestedContainersDepthLimited() {
+        // given
+        List<Object> list = new ArrayList<>();
+        List<Object> nested = list;
+        for (int i = 0; i < 10_000; i++) {
+            List<Object> child = new ArrayList<>();
+            nested.add(child);
+            nested = child;
+        }
+        Object[] array = {new Object[]{new Object[]{new Object[]{1, 2}}}};
+        // when
+        String listResult = printer.print(list);
+        String arrayResult = printer.print(array);
+        // then
+        assertThat(listResult, is("[[[[...(+1)]]]]"));
+        assertThat(arrayResult, is("[[[[...(+2)]]]]"));
+    }
+
+    @Test
+    public void printCycle() {
+        // given
+        Dto dto = new Dto();
+        dto.child = new Dto();
+        dto.child.child = dto;
+        // when
+        String result = printer.print(dto);
+        // then
+        assertThat(result, is("Dto{i=0, s=null, child=Dto{i=0, s=null, child=<cycle>}}"));
+    }
+
+    @Test
+    public void printSameObjectTwiceNotCycle() {
+        // given
+        Dto child = new Dto();
+        List<Dto> list = asList(child, child);
+        // when
+        String result = printer.print(list);
+        // then
+        assertThat(result, is("[Dto{i=0, s=null, child=null}, Dto{i=0, s=null, child=null}]"));
+    }
+
+    @Test
+    public void printSelfContainingCollection() {
+        // given
+        List<Object> list = new ArrayList<>();
+        list.add(1);
+        list.add(list);
+        // when
+        String result = printer.print(list);
+        // then
+        assertThat(result, is("[1, <cycle>]"));
+    }
+
+    @Test
+    public void printElementsLimited() {
+        // given
+        List<Integer> list = asList(1, 2, 3, 4, 5);
+        int[] array = {1, 2, 3};
+        Map<String, Integer> map = new LinkedHashMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        FieldPrinter fieldPrinter = new FieldPrinter().setMaxElements(2);
+        // when
+        String listResult = fieldPrinter.print(list);
+        String arrayResult = fieldPrinter.print(array);
+        String mapResult = fieldPrinter.print(map);
+        // then
+        assertThat(listResult, is("[1, 2, ...(+3)]"));
+        assertThat(arrayResult, is("[1, 2, ...(+1)]"));
+        assertThat(mapResult, is("{a=1, b=2, ...(+1)}"));
+    }
+
+    @Test
+    public void printZeroElements() {
+        // given
+        List<Integer> list = asList(1, 2);
+        // when
+        String result = new FieldPrinter().setMaxElements(0).print(list);
+        // then
+        assertThat(result, is("[...(+2)]"));
+    }
+
+    @Test
+    public void printTruncated() {
+        // given
+        Dto dto = new Dto();
+        dto.s = "0123456789";
+        FieldPrinter fieldPrinter = new FieldPrinter();
+        fieldPrinter.setMaxLength(10);
+        // when
+        String result = fieldPrinter.print(dto);
+        // then
+        assertThat(result, is("Dto{i=0, s...[truncated]"));
+    }
+
+    @SuppressWarnings("unused")
+    private static class Dto {
+
+        int i;
+        String s;
+        Dto child;
+    }
+
+    @SuppressWarnings("unused")
+    private static class ExtendedDto extends Dto {
+
+        long l;
+    }
+
+    @SuppressWarnings("unused")
+    private static class SkippedFieldsDto {
+
+        private static final String CONSTANT = "c";
+
+        private final String value = "v";
+        private transient String cached = "t";
+    }
+
+    private static class ToStringDto {
+
+        @Override
+        public String toString() {
+            return "toString";
+        }
+    }
+}
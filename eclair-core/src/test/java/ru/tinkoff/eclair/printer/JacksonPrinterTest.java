@@ -15,22 +15,33 @@
 
 package ru.tinkoff.eclair.printer;
 
-import com.fasterxml.jackson.core.JsonGenerationException;
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.fasterxml.jackson.module.jaxb.JaxbAnnotationModule;
 import org.junit.Before;
 import org.junit.Test;
+import ru.tinkoff.eclair.printer.processor.JsonMasker;
 
 import javax.xml.bind.annotation.*;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
-import static org.mockito.Matchers.any;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author Vyacheslav Klapatnyuk
@@ -58,18 +69,247 @@ public class JacksonPrinterTest {
         assertThat(json, is("{\"value\":\"value\"}"));
     }
 
+    @Test
+    public void serializeIntoAppendable() {
+        // given
+        ObjectMapper objectMapper = new ObjectMapper();
+        JacksonPrinter jacksonPrinter = new JacksonPrinter(objectMapper);
+        Empty empty = new Empty();
+        empty.setValue("value");
+        StringBuilder builder = new StringBuilder("result=");
+        // when
+        jacksonPrinter.serialize(empty, builder);
+        // then
+        assertThat(builder.toString(), is("result={\"value\":\"value\"}"));
+    }
+
+    @Test
+    public void serializeIntoWriterKeepsItOpen() throws IOException {
+        // given
+        JacksonPrinter jacksonPrinter = new JacksonPrinter(new ObjectMapper());
+        Empty empty = new Empty();
+        empty.setValue("value");
+        StringWriter writer = spy(new StringWriter());
+        // when
+        jacksonPrinter.serialize(empty, writer);
+        // then
+        verify(writer, never()).close();
+        assertThat(writer.toString(), is("{\"value\":\"value\"}"));
+    }
+
+    @Test
+    public void serializeMasked() {
+        // given
+        JacksonPrinter jacksonPrinter = new JacksonPrinter(new ObjectMapper());
+        JsonMasker jsonMasker = new JsonMasker("second");
+        jsonMasker.setReplacement("********");
+        jacksonPrinter.setJsonMasker(jsonMasker);
+        Pair input = new Pair();
+        input.setFirst("first");
+        input.setSecond("second");
+        // when
+        String json = jacksonPrinter.serialize(input);
+        // then
+        assertThat(json, is("{\"first\":\"first\",\"second\":\"********\"}"));
+    }
+
+    @Test
+    public void printTruncated() {
+        // given
+        JacksonPrinter jacksonPrinter = new JacksonPrinter(new ObjectMapper());
+        jacksonPrinter.setMaxLength(10);
+        char[] chars = new char[100_000];
+        Arrays.fill(chars, 'a');
+        StringBuilder builder = new StringBuilder();
+        // when
+        jacksonPrinter.print(singletonList(new String(chars)), builder);
+        // then
+        assertThat(builder.toString(), is("[\"aaaaaaaa...[truncated]"));
+    }
+
+    @Test
+    public void printTruncatedMaskedWithoutSerializingRest() {
+        // given
+        JacksonPrinter jacksonPrinter = new JacksonPrinter(new ObjectMapper());
+        jacksonPrinter.setJsonMasker(new JsonMasker("second"));
+        jacksonPrinter.setMaxLength(10);
+        int size = 1_000_000;
+        AtomicInteger serialized = new AtomicInteger();
+        Iterable<Pair> input = () -> IntStream.range(0, size)
+                .peek(i -> serialized.incrementAndGet())
+                .mapToObj(i -> Aggregate.pair("first", "second"))
+                .iterator();
+        StringBuilder builder = new StringBuilder();
+        // when
+        jacksonPrinter.print(input, builder);
+        // then
+        assertThat(builder.toString(), is("[{\"first\":...[truncated]"));
+        assertTrue(serialized.get() < size / 100);
+    }
+
     @Test(expected = IllegalArgumentException.class)
-    public void serializeException() throws JsonProcessingException {
+    public void serializeException() {
+        // given
+        JacksonPrinter jacksonPrinter = new JacksonPrinter(new ObjectMapper());
+        Failing input = new Failing();
+        // when
+        jacksonPrinter.serialize(input);
+        // then expected exception
+    }
+
+    @Test
+    public void serializeByCachedWriter() {
         // given
-        ObjectMapper objectMapper = mock(ObjectMapper.class);
-        when(objectMapper.writeValueAsString(any())).thenThrow(new JsonGenerationException("", (JsonGenerator) null));
+        ObjectMapper objectMapper = spy(new ObjectMapper());
         JacksonPrinter jacksonPrinter = new JacksonPrinter(objectMapper);
-        String string = "string";
+        Empty empty = new Empty();
+        empty.setValue("value");
+        // when
+        jacksonPrinter.serialize(empty);
+        jacksonPrinter.serialize(empty, new StringBuilder());
+        // then
+        verify(objectMapper).writerFor(Empty.class);
+    }
+
+    @Test
+    public void newLoggingInstance() {
+        // given
+        ObjectMapper objectMapper = new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .enableDefaultTyping();
+        JacksonPrinter jacksonPrinter = JacksonPrinter.newLoggingInstance(objectMapper);
+        Pair input = new Pair();
+        input.setFirst("first");
+        // when
+        String json = jacksonPrinter.print(input);
+        // then
+        assertThat(json, is("{\"first\":\"first\"}"));
+        assertTrue(objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT));
+    }
+
+    @Test
+    public void newLoggingInstanceNotCopyable() {
+        // given
+        ObjectMapper objectMapper = new ObjectMapper() {
+        };
+        JacksonPrinter jacksonPrinter = JacksonPrinter.newLoggingInstance(objectMapper);
+        Pair input = new Pair();
+        input.setFirst("first");
         // when
-        jacksonPrinter.serialize(string);
+        String json = jacksonPrinter.print(input);
+        // then
+        assertThat(json, is("{\"first\":\"first\",\"second\":null}"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void newLoggingInstanceWithModifiersNotCopyable() {
+        // given
+        ObjectMapper objectMapper = new ObjectMapper() {
+        };
+        // when
+        JacksonPrinter.newLoggingInstance(objectMapper, new MaskingSerializerModifier("********"));
+        // then expected exception
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void newProjectionInstanceNotCopyable() {
+        // given
+        ObjectMapper objectMapper = new ObjectMapper() {
+        };
+        // when
+        JacksonPrinter.newProjectionInstance(objectMapper, "first");
         // then expected exception
     }
 
+    @Test
+    public void newLoggingInstanceEmptyBean() {
+        // given
+        JacksonPrinter jacksonPrinter = JacksonPrinter.newLoggingInstance(new ObjectMapper());
+        // when
+        String json = jacksonPrinter.print(new Object());
+        // then
+        assertThat(json, is("{}"));
+    }
+
+    @Test
+    public void newLoggingInstanceCyclicReferences() {
+        // given
+        JacksonPrinter jacksonPrinter = JacksonPrinter.newLoggingInstance(new ObjectMapper());
+        Node first = new Node("first");
+        Node second = new Node("second");
+        first.setNext(second);
+        second.setNext(first);
+        Node self = new Node("self");
+        self.setNext(self);
+        // when
+        String json = jacksonPrinter.print(asList(first, self, first));
+        // then
+        assertThat(json, is("[{\"name\":\"first\",\"next\":{\"name\":\"second\",\"next\":\"[cyclic reference]\"}}," +
+                "{\"name\":\"self\",\"next\":\"[cyclic reference]\"}," +
+                "{\"name\":\"first\",\"next\":{\"name\":\"second\",\"next\":\"[cyclic reference]\"}}]"));
+    }
+
+    @Test
+    public void newProjectionInstance() {
+        // given
+        JacksonPrinter jacksonPrinter = JacksonPrinter.newProjectionInstance(new ObjectMapper(),
+                "id", "customer.first", "items.second");
+        Aggregate input = new Aggregate();
+        // when
+        String json = jacksonPrinter.print(input);
+        // then
+        assertThat(json, is("{\"customer\":{\"first\":\"a\"},\"items\":[{\"second\":\"b\"},{\"second\":\"d\"}],\"id\":1}"));
+    }
+
+    @Test
+    public void newProjectionInstanceWholeValue() {
+        // given
+        JacksonPrinter jacksonPrinter = JacksonPrinter.newProjectionInstance(new ObjectMapper(), "customer");
+        Aggregate input = new Aggregate();
+        // when
+        String json = jacksonPrinter.print(input);
+        // then
+        assertThat(json, is("{\"customer\":{\"first\":\"a\",\"second\":\"b\"}}"));
+    }
+
+    @Test
+    public void newProjectionInstanceRootMap() {
+        // given
+        JacksonPrinter jacksonPrinter = JacksonPrinter.newProjectionInstance(new ObjectMapper(), "id");
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put("id", 1);
+        input.put("other", 2);
+        // when
+        String json = jacksonPrinter.print(input);
+        // then
+        assertThat(json, is("{\"id\":1}"));
+    }
+
+    @Test
+    public void newProjectionInstanceNestedMap() {
+        // given
+        JacksonPrinter jacksonPrinter = JacksonPrinter.newProjectionInstance(new ObjectMapper(), "id", "attrs.a");
+        Map<String, Object> attrs = new LinkedHashMap<>();
+        attrs.put("a", 1);
+        attrs.put("b", 2);
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put("id", 1);
+        input.put("attrs", attrs);
+        input.put("other", 2);
+        // when
+        String json = jacksonPrinter.print(input);
+        // then
+        assertThat(json, is("{\"id\":1,\"attrs\":{\"a\":1}}"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void newProjectionInstanceIncludesFailing() {
+        // given
+        JacksonPrinter jacksonPrinter = JacksonPrinter.newProjectionInstance(new ObjectMapper(), "failing");
+        // when
+        jacksonPrinter.print(new Aggregate());
+    }
+
     @Test
     public void serializeXmlRoot() {
         // given
@@ -139,6 +379,85 @@ public class JacksonPrinterTest {
         }
     }
 
+    public static class Failing {
+
+        public String getValue() {
+            throw new IllegalStateException();
+        }
+    }
+
+    @JsonPropertyOrder({"customer", "items", "id"})
+    public static class Aggregate {
+
+        public long getId() {
+            return 1;
+        }
+
+        public Pair getCustomer() {
+            return pair("a", "b");
+        }
+
+        public List<Pair> getItems() {
+            return Arrays.asList(pair("a", "b"), pair("c", "d"));
+        }
+
+        public Failing getFailing() {
+            return new Failing();
+        }
+
+        private static Pair pair(String first, String second) {
+            Pair pair = new Pair();
+            pair.setFirst(first);
+            pair.setSecond(second);
+            return pair;
+        }
+    }
+
+    @JsonPropertyOrder({"first", "second"})
+    public static class Pair {
+
+        private String first;
+        private String second;
+
+        public String getFirst() {
+            return first;
+        }
+
+        public void setFirst(String first) {
+            this.first = first;
+        }
+
+        public String getSecond() {
+            return second;
+        }
+
+        public void setSecond(String second) {
+            this.second = second;
+        }
+    }
+
+    public static class Node {
+
+        private final String name;
+        private Node next;
+
+        Node(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Node getNext() {
+            return next;
+        }
+
+        public void setNext(Node next) {
+            this.next = next;
+        }
+    }
+
     public static class Empty {
 
         private String value;
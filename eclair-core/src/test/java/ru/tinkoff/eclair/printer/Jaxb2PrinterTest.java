@@ -19,16 +19,20 @@ import org.junit.Test;
 import org.springframework.oxm.MarshallingFailureException;
 import org.springframework.oxm.XmlMappingException;
 import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import ru.tinkoff.eclair.printer.processor.XPathMasker;
 
 import javax.xml.bind.JAXBElement;
+import javax.xml.bind.Marshaller;
 import javax.xml.bind.annotation.*;
 import javax.xml.namespace.QName;
+import java.util.Arrays;
 
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.*;
 
 /**
  * @author Vyacheslav Klapatnyuk
@@ -103,6 +107,151 @@ public class Jaxb2PrinterTest {
         assertThat(xml, is("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?><localPart><value>value</value></localPart>"));
     }
 
+    @Test
+    public void serializeByReusedMarshaller() {
+        // given
+        Jaxb2Marshaller jaxb2Marshaller = new Jaxb2Marshaller();
+        jaxb2Marshaller.setClassesToBeBound(Root.class);
+        Jaxb2Marshaller spiedJaxb2Marshaller = spy(jaxb2Marshaller);
+        Jaxb2Printer jaxb2Printer = new Jaxb2Printer(spiedJaxb2Marshaller)
+                .setMarshallerReuse(true);
+        Root root = new Root();
+        root.setValue("value");
+        // when
+        String xml = jaxb2Printer.serialize(root);
+        String xml1 = jaxb2Printer.serialize(root);
+        // then
+        assertThat(xml1, is(xml));
+        verify(spiedJaxb2Marshaller, never()).marshal(any(), any());
+    }
+
+    @Test
+    public void serializeByJaxb2MarshallerConfiguration() {
+        // given
+        Jaxb2Marshaller jaxb2Marshaller = new Jaxb2Marshaller();
+        jaxb2Marshaller.setClassesToBeBound(Root.class);
+        jaxb2Marshaller.setMarshallerProperties(singletonMap(Marshaller.JAXB_FRAGMENT, true));
+        Jaxb2Marshaller spiedJaxb2Marshaller = spy(jaxb2Marshaller);
+        Jaxb2Printer jaxb2Printer = new Jaxb2Printer(spiedJaxb2Marshaller);
+        Root root = new Root();
+        root.setValue("value");
+        // when
+        String xml = jaxb2Printer.serialize(root);
+        // then
+        assertThat(xml, is("<someName><value>value</value></someName>"));
+        verify(spiedJaxb2Marshaller).marshal(any(), any());
+    }
+
+    @Test
+    public void serializeUpdatesEstimatedLength() {
+        // given
+        Jaxb2Marshaller jaxb2Marshaller = new Jaxb2Marshaller();
+        jaxb2Marshaller.setClassesToBeBound(Root.class);
+        Jaxb2Printer jaxb2Printer = new Jaxb2Printer(jaxb2Marshaller);
+        Root root = new Root();
+        root.setValue("value");
+        // when
+        String xml = jaxb2Printer.serialize(root);
+        // then
+        assertThat(jaxb2Printer.getEstimatedLength(Root.class), is(xml.length()));
+    }
+
+    @Test
+    public void serializeCapsEstimatedLength() {
+        // given
+        Jaxb2Marshaller jaxb2Marshaller = new Jaxb2Marshaller();
+        jaxb2Marshaller.setClassesToBeBound(Root.class);
+        Jaxb2Printer jaxb2Printer = new Jaxb2Printer(jaxb2Marshaller);
+        Root root = new Root();
+        char[] chars = new char[100_000];
+        Arrays.fill(chars, 'a');
+        root.setValue(new String(chars));
+        StringBuilder builder = new StringBuilder("prefix");
+        // when
+        jaxb2Printer.serialize(root);
+        int estimatedLength = jaxb2Printer.getEstimatedLength(Root.class);
+        root.setValue("value");
+        jaxb2Printer.serialize(root, builder);
+        // then
+        assertThat(estimatedLength, is(8 * 1024));
+        assertThat(builder.capacity() <= 8 * 1024, is(true));
+    }
+
+    @Test
+    public void serializeByReusedMarshallerWithJaxb2MarshallerConfiguration() {
+        // given
+        Jaxb2Marshaller jaxb2Marshaller = new Jaxb2Marshaller();
+        jaxb2Marshaller.setClassesToBeBound(Root.class);
+        jaxb2Marshaller.setMarshallerProperties(singletonMap(Marshaller.JAXB_FRAGMENT, true));
+        Jaxb2Marshaller spiedJaxb2Marshaller = spy(jaxb2Marshaller);
+        Jaxb2Printer jaxb2Printer = new Jaxb2Printer(spiedJaxb2Marshaller)
+                .setMarshallerReuse(true);
+        Root root = new Root();
+        root.setValue("value");
+        // when
+        String xml = jaxb2Printer.serialize(root);
+        // then
+        assertThat(xml, is("<someName><value>value</value></someName>"));
+        verify(spiedJaxb2Marshaller, never()).marshal(any(), any());
+    }
+
+    @Test
+    public void printPostProcessedDocument() {
+        // given
+        Jaxb2Marshaller jaxb2Marshaller = new Jaxb2Marshaller();
+        jaxb2Marshaller.setClassesToBeBound(Root.class);
+        XPathMasker xPathMasker = new XPathMasker("/someName/value");
+        xPathMasker.setReplacement("********");
+        Jaxb2Printer jaxb2Printer = new Jaxb2Printer(jaxb2Marshaller);
+        jaxb2Printer.addPostProcessor(xPathMasker);
+        Root root = new Root();
+        root.setValue("value");
+        String expected = xPathMasker.process(new Jaxb2Printer(jaxb2Marshaller).print(root));
+        Jaxb2Printer spiedJaxb2Printer = spy(jaxb2Printer);
+        // when
+        String xml = spiedJaxb2Printer.print(root);
+        // then
+        assertThat(xml, is(expected));
+        assertThat(xml, containsString("<value>********</value>"));
+        verify(spiedJaxb2Printer, never()).serialize(any());
+    }
+
+    @Test
+    public void printPostProcessedDocumentWithNamespaces() {
+        // given
+        Jaxb2Marshaller jaxb2Marshaller = new Jaxb2Marshaller();
+        jaxb2Marshaller.setClassesToBeBound(Namespaced.class);
+        XPathMasker xPathMasker = new XPathMasker("/namespaced/value");
+        xPathMasker.setReplacement("********");
+        Jaxb2Printer jaxb2Printer = new Jaxb2Printer(jaxb2Marshaller);
+        jaxb2Printer.addPostProcessor(xPathMasker);
+        Namespaced namespaced = new Namespaced();
+        namespaced.setValue("value");
+        // when
+        String xml = jaxb2Printer.print(namespaced);
+        String xml1 = jaxb2Printer.print(namespaced);
+        // then
+        assertThat(xml, containsString("<value>********</value>"));
+        assertThat(xml1, is(xml));
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(name = "", propOrder = "value")
+    @XmlRootElement(name = "namespaced", namespace = "urn:n")
+    public static class Namespaced {
+
+        @XmlElement(namespace = "urn:n")
+        private String value;
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+
     @XmlAccessorType(XmlAccessType.FIELD)
     @XmlType(name = "", propOrder = "value")
     @XmlRootElement(name = "someName")
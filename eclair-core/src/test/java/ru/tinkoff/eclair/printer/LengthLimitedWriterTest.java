@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class LengthLimitedWriterTest {
+
+    @Test
+    public void writeWithinLimit() throws IOException {
+        // given
+        StringBuilder builder = new StringBuilder();
+        LengthLimitedWriter writer = new LengthLimitedWriter(builder, 5);
+        // when
+        writer.write("abc");
+        writer.write('d');
+        writer.write(new char[]{'e'}, 0, 1);
+        // then
+        assertFalse(writer.isExceeded());
+        assertThat(builder.toString(), is("abcde"));
+    }
+
+    @Test
+    public void writeBeyondLimit() throws IOException {
+        // given
+        StringBuilder builder = new StringBuilder();
+        LengthLimitedWriter writer = new LengthLimitedWriter(builder, 5);
+        writer.write("abc");
+        // when
+        try {
+            writer.write("defgh".toCharArray(), 0, 5);
+            fail();
+        } catch (LengthLimitedWriter.LimitExceededException e) {
+            // then
+            assertTrue(writer.isExceeded());
+            assertThat(writer.getOriginalLength(), is(LengthLimitedWriter.UNKNOWN_LENGTH));
+            assertThat(builder.toString(), is("abcde"));
+        }
+    }
+
+    @Test(expected = LengthLimitedWriter.LimitExceededException.class)
+    public void writeAfterExceeded() throws IOException {
+        // given
+        LengthLimitedWriter writer = new LengthLimitedWriter(new StringBuilder(), 1);
+        try {
+            writer.write("ab");
+        } catch (LengthLimitedWriter.LimitExceededException ignored) {
+        }
+        // when
+        writer.write("");
+        // then expected exception
+    }
+
+    @Test
+    public void writeLast() throws IOException {
+        // given
+        StringBuilder builder = new StringBuilder();
+        LengthLimitedWriter writer = new LengthLimitedWriter(builder, 3);
+        // when
+        try {
+            writer.writeLast("abcdef");
+            fail();
+        } catch (LengthLimitedWriter.LimitExceededException e) {
+            // then
+            assertThat(writer.getOriginalLength(), is(6));
+            assertThat(builder.toString(), is("abc"));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.UUID;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class MaskingSerializerModifierTest {
+
+    @Test
+    public void maskByAnnotation() {
+        // given
+        MaskingSerializerModifier modifier = new MaskingSerializerModifier("***").addAnnotation(Secret.class);
+        JacksonPrinter printer = JacksonPrinter.newLoggingInstance(new ObjectMapper(), modifier);
+        // when
+        String json = printer.print(new Credentials());
+        // then
+        assertThat(json, is("{\"login\":\"login\",\"password\":\"***\",\"token\":\"00000000-0000-0001-0000-000000000002\"}"));
+    }
+
+    @Test
+    public void maskByPropertyNameAndType() {
+        // given
+        MaskingSerializerModifier modifier = new MaskingSerializerModifier(null)
+                .addPropertyName("login")
+                .addType(UUID.class);
+        JacksonPrinter printer = new JacksonPrinter(new ObjectMapper().registerModule(new SimpleModule().setSerializerModifier(modifier)));
+        // when
+        String json = printer.print(new Credentials());
+        // then
+        assertThat(json, is("{\"login\":null,\"password\":\"password\",\"token\":null}"));
+    }
+
+    @Test
+    public void maskByNullSkippedIfNullsNotIncluded() {
+        // given
+        MaskingSerializerModifier modifier = new MaskingSerializerModifier(null)
+                .addPropertyName("login")
+                .addType(UUID.class);
+        JacksonPrinter printer = JacksonPrinter.newLoggingInstance(new ObjectMapper(), modifier);
+        // when
+        String json = printer.print(new Credentials());
+        // then
+        assertThat(json, is("{\"password\":\"password\"}"));
+    }
+
+    @Test
+    public void maskUnwrapped() {
+        // given
+        MaskingSerializerModifier modifier = new MaskingSerializerModifier("***").addPropertyName("credentials");
+        JacksonPrinter printer = JacksonPrinter.newLoggingInstance(new ObjectMapper(), modifier);
+        // when
+        String json = printer.print(new Account());
+        // then
+        assertThat(json, is("{\"credentials\":\"***\",\"id\":1}"));
+    }
+
+    @Test
+    public void maskRenamedWithoutAccessorInvocation() {
+        // given
+        MaskingSerializerModifier modifier = new MaskingSerializerModifier("***").addPropertyName("pin");
+        JacksonPrinter printer = JacksonPrinter.newLoggingInstance(new ObjectMapper(), modifier);
+        // when
+        String json = printer.print(new Card());
+        // then
+        assertThat(json, is("{\"pin\":\"***\"}"));
+    }
+
+    @Test
+    public void originalMapperUntouched() throws JsonProcessingException {
+        // given
+        ObjectMapper objectMapper = new ObjectMapper();
+        JacksonPrinter.newLoggingInstance(objectMapper, new MaskingSerializerModifier("***").addAnnotation(Secret.class));
+        // when
+        String json = objectMapper.writeValueAsString(new Credentials());
+        // then
+        assertThat(json, is("{\"login\":\"login\",\"password\":\"password\",\"token\":\"00000000-0000-0001-0000-000000000002\"}"));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Secret {
+    }
+
+    public static class Credentials {
+
+        private final String login = "login";
+        private final String password = "password";
+        private final UUID token = new UUID(1, 2);
+
+        public String getLogin() {
+            return login;
+        }
+
+        @Secret
+        public String getPassword() {
+            return password;
+        }
+
+        public UUID getToken() {
+            return token;
+        }
+    }
+
+    public static class Account {
+
+        public long getId() {
+            return 1;
+        }
+
+        @JsonUnwrapped
+        public Credentials getCredentials() {
+            return new Credentials();
+        }
+    }
+
+    public static class Card {
+
+        @JsonProperty("pin")
+        public String getCode() {
+            throw new IllegalStateException();
+        }
+    }
+}
@@ -18,6 +18,7 @@ package ru.tinkoff.eclair.printer;
 import org.junit.Test;
 import ru.tinkoff.eclair.printer.processor.PrinterPostProcessor;
 import ru.tinkoff.eclair.printer.processor.PrinterPreProcessor;
+import ru.tinkoff.eclair.printer.snapshot.PrintedSnapshot;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
@@ -73,6 +74,122 @@ public class PrinterTest {
         assertThat(string, is(""));
     }
 
+    @Test
+    public void printIntoAppendable() {
+        // given
+        Printer printer = spy(new NoOpPrinter());
+        StringBuilder builder = new StringBuilder("prefix ");
+        Object input = new Object();
+        // when
+        printer.print(input, builder);
+        // then
+        verify(printer).serialize(input, builder);
+        assertThat(builder.toString(), is("prefix "));
+    }
+
+    @Test
+    public void printIntoAppendableWithPostProcessor() {
+        // given
+        Printer printer = new NoOpPrinter();
+        PrinterPostProcessor postProcessor = mock(PrinterPostProcessor.class);
+        when(postProcessor.process("")).thenReturn("processed");
+        printer.addPostProcessor(postProcessor);
+        StringBuilder builder = new StringBuilder("prefix ");
+        // when
+        printer.print(new Object(), builder);
+        // then
+        assertThat(builder.toString(), is("prefix processed"));
+    }
+
+    @Test
+    public void printIntoAppendableByOverriddenPrint() {
+        // given
+        Printer printer = new ConstantPrinter("constant") {
+            @Override
+            public String print(Object input) {
+                return "overridden " + super.print(input);
+            }
+        }.setMaxLength(20);
+        StringBuilder builder = new StringBuilder("prefix ");
+        // when
+        printer.print(new Object(), builder);
+        // then
+        assertThat(builder.toString(), is("prefix overridden constant"));
+    }
+
+    @Test
+    public void printPrintedSnapshot() {
+        // given
+        Printer printer = new ConstantPrinter("constant");
+        StringBuilder builder = new StringBuilder("prefix ");
+        // when
+        printer.print(new PrintedSnapshot("printed"), builder);
+        // then
+        assertThat(builder.toString(), is("prefix printed"));
+    }
+
+    @Test
+    public void printTruncated() {
+        // given
+        Printer printer = new ConstantPrinter("0123456789").setMaxLength(4);
+        // when
+        String string = printer.print(new Object());
+        // then
+        assertThat(string, is("0123...[truncated, 10 chars]"));
+    }
+
+    @Test
+    public void printTruncatedAfterPostProcessing() {
+        // given
+        PrinterPostProcessor postProcessor = mock(PrinterPostProcessor.class);
+        when(postProcessor.process("0123456789")).thenReturn("9876543210");
+        Printer printer = new ConstantPrinter("0123456789").addPostProcessor(postProcessor).setMaxLength(4);
+        StringBuilder builder = new StringBuilder();
+        // when
+        printer.print(new Object(), builder);
+        // then
+        assertThat(builder.toString(), is("9876...[truncated, 10 chars]"));
+    }
+
+    @Test
+    public void printNotTruncated() {
+        // given
+        Printer printer = new ConstantPrinter("0123456789").setMaxLength(10);
+        StringBuilder builder = new StringBuilder();
+        // when
+        printer.print(new Object(), builder);
+        // then
+        assertThat(builder.toString(), is("0123456789"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void printLimitedException() {
+        // given
+        Printer printer = new Printer() {
+            @Override
+            protected String serialize(Object input) {
+                throw new IllegalStateException();
+            }
+        }.setMaxLength(1);
+        // when
+        printer.print(new Object(), new StringBuilder());
+        // then expected exception
+    }
+
+    private static class ConstantPrinter extends Printer {
+
+        private final String string;
+
+        private ConstantPrinter(String string) {
+            this.string = string;
+        }
+
+        @Override
+        protected String serialize(Object input) {
+            return string;
+        }
+    }
+
     private static class NoOpPrinter extends Printer {
 
         @Override
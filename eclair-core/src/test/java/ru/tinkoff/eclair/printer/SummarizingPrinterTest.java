@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class SummarizingPrinterTest {
+
+    private final SummarizingPrinter printer = new SummarizingPrinter();
+
+    @Test
+    public void supports() {
+        // when
+        boolean supportsArray = printer.supports(long[].class);
+        boolean supportsCollection = printer.supports(Set.class);
+        boolean supportsMap = printer.supports(HashMap.class);
+        boolean supportsByteBuffer = printer.supports(ByteBuffer.class);
+        boolean supportsString = printer.supports(String.class);
+        // then
+        assertTrue(supportsArray);
+        assertTrue(supportsCollection);
+        assertTrue(supportsMap);
+        assertTrue(supportsByteBuffer);
+        assertFalse(supportsString);
+    }
+
+    @Test
+    public void printLargeArray() {
+        // given
+        long[] array = new long[100000];
+        Arrays.setAll(array, i -> i);
+        // when
+        String result = printer.print(array);
+        // then
+        assertThat(result, is("long[](100000)[0, 1, 2, 3, 4, ..., 99998, 99999]"));
+    }
+
+    @Test
+    public void printSmallArray() {
+        // given
+        String[] array = {"a", "b", "c"};
+        // when
+        String result = printer.print(array);
+        // then
+        assertThat(result, is("String[](3)[a, b, c]"));
+    }
+
+    @Test
+    public void printOverlappingHeadAndTail() {
+        // given
+        int[] array = {1, 2, 3, 4, 5, 6};
+        // when
+        String result = printer.print(array);
+        // then
+        assertThat(result, is("int[](6)[1, 2, 3, 4, 5, 6]"));
+    }
+
+    @Test
+    public void printRandomAccessList() {
+        // given
+        List<Integer> list = IntStream.range(0, 100000).boxed().collect(toList());
+        // when
+        String result = printer.print(list);
+        // then
+        assertThat(result, is("ArrayList(100000)[0, 1, 2, 3, 4, ..., 99998, 99999]"));
+    }
+
+    @Test
+    public void printDeque() {
+        // given
+        Deque<Integer> list = new LinkedList<>(IntStream.range(0, 10).boxed().collect(toList()));
+        // when
+        String result = printer.print(list);
+        // then
+        assertThat(result, is("LinkedList(10)[0, 1, 2, 3, 4, ..., 8, 9]"));
+    }
+
+    @Test
+    public void printUnorderedCollectionHeadOnly() {
+        // given
+        Set<Integer> set = new LinkedHashSet<>(asList(0, 1, 2, 3, 4, 5, 6, 7));
+        // when
+        String result = printer.print(set);
+        // then
+        assertThat(result, is("LinkedHashSet(8)[0, 1, 2, 3, 4, ...]"));
+    }
+
+    @Test
+    public void printNavigableMap() {
+        // given
+        NavigableMap<Integer, String> map = new TreeMap<>();
+        IntStream.range(0, 10).forEach(i -> map.put(i, "v" + i));
+        SummarizingPrinter summarizingPrinter = new SummarizingPrinter().setHeadSize(1).setTailSize(1);
+        // when
+        String result = summarizingPrinter.print(map);
+        // then
+        assertThat(result, is("TreeMap(10){0=v0, ..., 9=v9}"));
+    }
+
+    @Test
+    public void printTailOnly() {
+        // given
+        SummarizingPrinter summarizingPrinter = new SummarizingPrinter().setHeadSize(0).setTailSize(2);
+        List<Integer> list = IntStream.range(0, 10).boxed().collect(toList());
+        NavigableMap<Integer, String> map = new TreeMap<>();
+        IntStream.range(0, 10).forEach(i -> map.put(i, "v" + i));
+        // when
+        String listResult = summarizingPrinter.print(list);
+        String mapResult = summarizingPrinter.print(map);
+        String arrayResult = summarizingPrinter.print(new int[]{0, 1, 2});
+        // then
+        assertThat(listResult, is("ArrayList(10)[..., 8, 9]"));
+        assertThat(mapResult, is("TreeMap(10){..., 8=v8, 9=v9}"));
+        assertThat(arrayResult, is("int[](3)[..., 1, 2]"));
+    }
+
+    @Test
+    public void printNestedLimitedByDepth() {
+        // given
+        List<List<List<Integer>>> list = singletonList(singletonList(asList(1, 2)));
+        // when
+        String result = printer.print(list);
+        // then
+        assertThat(result, is("SingletonList(1)[SingletonList(1)[ArrayList(2)]]"));
+    }
+
+    @Test
+    public void printSelfContaining() {
+        // given
+        List<Object> list = new ArrayList<>();
+        list.add(list);
+        // when
+        String result = printer.print(list);
+        // then
+        assertThat(result, is("ArrayList(1)[ArrayList(1)[ArrayList(1)]]"));
+    }
+
+    @Test
+    public void printByteBufferWithoutPositionChange() {
+        // given
+        ByteBuffer buffer = ByteBuffer.allocateDirect(100);
+        for (int i = 0; i < 100; i++) {
+            buffer.put((byte) i);
+        }
+        buffer.position(10);
+        buffer.limit(90);
+        // when
+        String result = printer.print(buffer);
+        // then
+        assertThat(result, is("DirectByteBuffer(80)[10, 11, 12, 13, 14, ..., 88, 89]"));
+        assertThat(buffer.position(), is(10));
+    }
+
+    @Test
+    public void printEmpty() {
+        // when
+        String result = printer.print(new ArrayList<>());
+        // then
+        assertThat(result, is("ArrayList(0)[]"));
+    }
+}
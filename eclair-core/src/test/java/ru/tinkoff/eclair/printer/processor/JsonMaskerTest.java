@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer.processor;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class JsonMaskerTest {
+
+    private static final String JSON = "{\"user\":{\"login\":\"login\",\"password\":\"password\"}," +
+            "\"users\":[{\"password\":\"first\"},{\"password\":\"second\"}],\"amount\":1.10,\"count\":10,\"flag\":true,\"none\":null}";
+
+    @Test
+    public void maskByFieldName() {
+        // given
+        JsonMasker jsonMasker = new JsonMasker("password");
+        jsonMasker.setReplacement("********");
+        // when
+        String actual = jsonMasker.process(JSON);
+        // then
+        assertThat(actual, is("{\"user\":{\"login\":\"login\",\"password\":\"********\"}," +
+                "\"users\":[{\"password\":\"********\"},{\"password\":\"********\"}],\"amount\":1.10,\"count\":10,\"flag\":true,\"none\":null}"));
+    }
+
+    @Test
+    public void maskByPointer() {
+        // given
+        JsonMasker jsonMasker = new JsonMasker("/user/password", "/users/1/password");
+        jsonMasker.setReplacement("********");
+        // when
+        String actual = jsonMasker.process(JSON);
+        // then
+        assertThat(actual, is("{\"user\":{\"login\":\"login\",\"password\":\"********\"}," +
+                "\"users\":[{\"password\":\"first\"},{\"password\":\"********\"}],\"amount\":1.10,\"count\":10,\"flag\":true,\"none\":null}"));
+    }
+
+    @Test
+    public void maskStructuresByNull() {
+        // given
+        JsonMasker jsonMasker = new JsonMasker("user", "/users");
+        // when
+        String actual = jsonMasker.process(JSON);
+        // then
+        assertThat(actual, is("{\"user\":null,\"users\":null,\"amount\":1.10,\"count\":10,\"flag\":true,\"none\":null}"));
+    }
+
+    @Test
+    public void maskByEscapedPointer() {
+        // given
+        JsonMasker jsonMasker = new JsonMasker("/a~1b/c~0d");
+        jsonMasker.setReplacement("*");
+        // when
+        String actual = jsonMasker.process("{\"a/b\":{\"c~d\":1,\"c\":2}}");
+        // then
+        assertThat(actual, is("{\"a/b\":{\"c~d\":\"*\",\"c\":2}}"));
+    }
+
+    @Test
+    public void maskRootArray() {
+        // given
+        JsonMasker jsonMasker = new JsonMasker("/0");
+        jsonMasker.setReplacement("*");
+        // when
+        String actual = jsonMasker.process("[[1,2],3]");
+        // then
+        assertThat(actual, is("[\"*\",3]"));
+    }
+
+    @Test
+    public void maskNothing() {
+        // given
+        JsonMasker jsonMasker = new JsonMasker();
+        String input = "{ \"password\" : \"password\" }";
+        // when
+        String actual = jsonMasker.process(input);
+        // then
+        assertThat(actual, is(input));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maskInvalidJson() {
+        // given
+        JsonMasker jsonMasker = new JsonMasker("password");
+        // when
+        jsonMasker.process("{\"password\":");
+        // then expected exception
+    }
+
+    @Test
+    public void wrap() throws IOException {
+        // given
+        JsonMasker jsonMasker = new JsonMasker("user", "/users/1/password", "/users/2");
+        jsonMasker.setReplacement("********");
+        JsonFactory jsonFactory = new JsonFactory();
+        String input = "{\"user\":{\"tags\":[1,2]},\"users\":[{\"password\":\"first\"},{\"password\":\"second\"}," +
+                "[{\"password\":\"third\"}],{\"password\":\"fourth\"}],\"count\":10}";
+        StringWriter writer = new StringWriter();
+        // when
+        try (JsonParser parser = jsonFactory.createParser(input);
+             JsonGenerator generator = jsonMasker.wrap(jsonFactory.createGenerator(writer))) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+        // then
+        assertThat(writer.toString(), is("{\"user\":\"********\",\"users\":[{\"password\":\"first\"},{\"password\":\"********\"}," +
+                "\"********\",{\"password\":\"fourth\"}],\"count\":10}"));
+    }
+}
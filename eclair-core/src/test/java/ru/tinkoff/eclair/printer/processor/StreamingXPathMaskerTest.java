@@ -0,0 +1,210 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer.processor;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.xmlunit.matchers.EvaluateXPathMatcher;
+import org.xmlunit.matchers.HasXPathMatcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = StreamingXPathMaskerTest.class)
+public class StreamingXPathMaskerTest {
+
+    @Value("classpath:ru/tinkoff/eclair/printer/processor/single.xml")
+    private Resource single;
+    @Value("classpath:ru/tinkoff/eclair/printer/processor/multiple.xml")
+    private Resource multiple;
+    @Value("classpath:ru/tinkoff/eclair/printer/processor/none.xml")
+    private Resource none;
+
+    @Test
+    public void isSupported() {
+        assertTrue(StreamingXPathMasker.isSupported("/container/user/password"));
+        assertTrue(StreamingXPathMasker.isSupported("//password"));
+        assertTrue(StreamingXPathMasker.isSupported("/container//user/*"));
+        assertTrue(StreamingXPathMasker.isSupported("/soap:Envelope//password"));
+        assertTrue(StreamingXPathMasker.isSupported("/container/user/@id"));
+        assertTrue(StreamingXPathMasker.isSupported("//@token"));
+        assertFalse(StreamingXPathMasker.isSupported("password"));
+        assertFalse(StreamingXPathMasker.isSupported("//user[login='admin']/password"));
+        assertFalse(StreamingXPathMasker.isSupported("//password/text()"));
+        assertFalse(StreamingXPathMasker.isSupported("//user/@id/value"));
+        assertFalse(StreamingXPathMasker.isSupported("/container/"));
+        assertFalse(StreamingXPathMasker.isSupported("//a|//b"));
+    }
+
+    @Test
+    public void replaceOneInSingleByReplacement() throws IOException {
+        // given
+        StreamingXPathMasker masker = new StreamingXPathMasker("/container/user/password");
+        masker.setReplacement("********");
+        String input = getResourceContent(single);
+        // when
+        String actual = masker.process(input);
+        // then
+        assertThat(actual, is(withoutProlog(input).replace("<password>password</password>", "<password>********</password>")));
+    }
+
+    @Test
+    public void replaceAllInMultipleByNull() throws IOException {
+        // given
+        StreamingXPathMasker masker = new StreamingXPathMasker("//password");
+        String input = getResourceContent(multiple);
+        // when
+        String actual = masker.process(input);
+        // then
+        assertThat(actual, HasXPathMatcher.hasXPath("/container/user/password"));
+        assertThat(actual, EvaluateXPathMatcher.hasXPath("/container/user/password/text()", is("")));
+        assertThat(actual, HasXPathMatcher.hasXPath("/container/payload/payload/password"));
+        assertThat(actual, EvaluateXPathMatcher.hasXPath("/container/payload/payload/password/text()", is("")));
+    }
+
+    @Test
+    public void replaceDescendantInMultipleByReplacement() throws IOException {
+        // given
+        StreamingXPathMasker masker = new StreamingXPathMasker("/container/payload//password");
+        masker.setReplacement("********");
+        String input = getResourceContent(multiple);
+        // when
+        String actual = masker.process(input);
+        // then
+        assertThat(actual, EvaluateXPathMatcher.hasXPath("/container/user/password/text()", is("password")));
+        assertThat(actual, EvaluateXPathMatcher.hasXPath("/container/payload/payload/password/text()", is("********")));
+    }
+
+    @Test
+    public void replaceElementWithChildren() {
+        // given
+        StreamingXPathMasker masker = new StreamingXPathMasker("//user");
+        masker.setReplacement("***");
+        String input = "<container><user><login>login</login></user><user/></container>";
+        // when
+        String actual = masker.process(input);
+        // then
+        assertThat(actual, is("<container><user>***</user><user>***</user></container>"));
+    }
+
+    @Test
+    public void replaceAttribute() {
+        // given
+        StreamingXPathMasker masker = new StreamingXPathMasker("/container/user/@password", "//@token");
+        masker.setReplacement("***");
+        String input = "<container token=\"t\"><user login=\"l\" password=\"p&amp;\"/><password>p</password></container>";
+        // when
+        String actual = masker.process(input);
+        // then
+        assertThat(actual, is("<container token=\"***\"><user login=\"l\" password=\"***\"/><password>p</password></container>"));
+    }
+
+    @Test
+    public void replaceDescendantOrSelfAttribute() {
+        // given
+        StreamingXPathMasker masker = new StreamingXPathMasker("/a//@id");
+        masker.setReplacement("***");
+        String input = "<a id=\"x\"><b id=\"y\"/></a>";
+        // when
+        String actual = masker.process(input);
+        // then
+        assertThat(actual, is("<a id=\"***\"><b id=\"***\"/></a>"));
+    }
+
+    @Test
+    public void replaceKeepsNamespacesAndMarkup() {
+        // given
+        StreamingXPathMasker masker = new StreamingXPathMasker("/s:Envelope/s:Body/password");
+        masker.setReplacement("***");
+        String input = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><s:Envelope xmlns:s=\"urn:s\"><!-- comment --><s:Body>" +
+                "<login a=\"&quot;\">a &lt; b</login><password>p</password></s:Body></s:Envelope>";
+        // when
+        String actual = masker.process(input);
+        // then
+        assertThat(actual, is(input.replace("<password>p</password>", "<password>***</password>")));
+    }
+
+    @Test
+    public void replaceSeveralInNoneByNull() throws IOException {
+        // given
+        StreamingXPathMasker masker = new StreamingXPathMasker("/container/user/password", "/container/payload/payload/password");
+        String input = getResourceContent(none);
+        // when
+        String actual = masker.process(input);
+        // then
+        assertThat(actual, is(withoutProlog(input)));
+    }
+
+    @Test
+    public void replaceNothing() throws IOException {
+        // given
+        StreamingXPathMasker masker = new StreamingXPathMasker();
+        String input = getResourceContent(multiple);
+        // when
+        String actual = masker.process(input);
+        // then
+        assertThat(actual, is(input));
+    }
+
+    @Test
+    public void replaceByFallback() throws IOException {
+        // given
+        StreamingXPathMasker masker = new StreamingXPathMasker("//password", "//user[login='login']/login");
+        masker.setReplacement("********");
+        String input = getResourceContent(multiple);
+        // when
+        String actual = masker.process(input);
+        // then
+        assertThat(actual, EvaluateXPathMatcher.hasXPath("/container/user/login/text()", is("********")));
+        assertThat(actual, EvaluateXPathMatcher.hasXPath("/container/user/password/text()", is("********")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void replaceInInvalidXml() {
+        // given
+        StreamingXPathMasker masker = new StreamingXPathMasker("//password");
+        String input = "Invalid XML";
+        // when
+        masker.process(input);
+        // then expected exception
+    }
+
+    /**
+     * Whitespaces outside of the root element are not reported by StAX.
+     */
+    private String withoutProlog(String xml) {
+        return xml.replaceFirst("\\?>\\s*", "?>");
+    }
+
+    private String getResourceContent(Resource resource) throws IOException {
+        try (InputStream stream = resource.getInputStream()) {
+            return IOUtils.toString(stream, Charset.defaultCharset());
+        }
+    }
+}
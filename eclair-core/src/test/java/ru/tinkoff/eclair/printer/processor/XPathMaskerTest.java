@@ -26,11 +26,14 @@ import org.xmlunit.matchers.CompareMatcher;
 import org.xmlunit.matchers.EvaluateXPathMatcher;
 import org.xmlunit.matchers.HasXPathMatcher;
 
+import javax.xml.transform.OutputKeys;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.StringStartsWith.startsWith;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -177,6 +180,40 @@ public class XPathMaskerTest {
         // then expected exception
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidExpression() {
+        // when
+        new XPathMasker("//password[");
+        // then expected exception
+    }
+
+    @Test
+    public void replaceRepeatedlyWithOutputProperties() throws IOException {
+        // given
+        XPathMasker xPathMasker = new XPathMasker("//password");
+        xPathMasker.setReplacement("********");
+        xPathMasker.setOutputProperties(singletonMap(OutputKeys.OMIT_XML_DECLARATION, "yes"));
+        String input = getResourceContent(multiple);
+        // when
+        String actual = xPathMasker.process(input);
+        String actual1 = xPathMasker.process(input);
+        // then
+        assertThat(actual, startsWith("<container>"));
+        assertThat(actual1, is(actual));
+    }
+
+    @Test
+    public void replaceKeepsNonAsciiCharacters() {
+        // given
+        XPathMasker xPathMasker = new XPathMasker("//password");
+        xPathMasker.setOutputProperties(singletonMap(OutputKeys.OMIT_XML_DECLARATION, "yes"));
+        String input = "<user><name>\u0418\u043c\u044f \u00e9</name><password>password</password></user>";
+        // when
+        String actual = xPathMasker.process(input);
+        // then
+        assertThat(actual, is("<user><name>\u0418\u043c\u044f \u00e9</name><password/></user>"));
+    }
+
     private String getResourceContent(Resource resource) throws IOException {
         try (InputStream stream = resource.getInputStream()) {
             return IOUtils.toString(stream, Charset.defaultCharset());
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer.resolver;
+
+import org.junit.Test;
+import ru.tinkoff.eclair.printer.OverriddenToStringPrinter;
+import ru.tinkoff.eclair.printer.Printer;
+import ru.tinkoff.eclair.printer.ToStringPrinter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class RuntimeTypePrinterResolverTest {
+
+    private final Printer overriddenToStringPrinter = new OverriddenToStringPrinter();
+    private final Printer fallbackPrinter = new ToStringPrinter().addPreProcessor(input -> "fallback");
+
+    private RuntimeTypePrinterResolver newResolver(Printer... extraPrinters) {
+        Map<String, Printer> printers = new LinkedHashMap<>();
+        printers.put("overriddenToStringPrinter", overriddenToStringPrinter);
+        for (int i = 0; i < extraPrinters.length; i++) {
+            printers.put("extraPrinter" + i, extraPrinters[i]);
+        }
+        printers.put("fallbackPrinter", fallbackPrinter);
+        return new RuntimeTypePrinterResolver(new AliasedPrinterResolver(printers, emptyMap()));
+    }
+
+    @Test
+    public void resolveObjectByRuntimeType() {
+        // given
+        RuntimeTypePrinterResolver printerResolver = newResolver();
+        // when
+        Printer printer = printerResolver.resolve("", Object.class);
+        // then
+        assertThat(printer.print(1), is("1"));
+        assertThat(printer.print(new Object()), is("\"fallback\""));
+    }
+
+    @Test
+    public void resolveInterfaceByRuntimeType() {
+        // given
+        RuntimeTypePrinterResolver printerResolver = newResolver();
+        // when
+        Printer printer = printerResolver.resolve("", CharSequence.class);
+        // then
+        assertThat(printer.print("s"), is("\"s\""));
+        assertThat(printer.print(new StringBuilder("sb")), is("sb"));
+    }
+
+    @Test
+    public void resolveNamedSupportingPrinter() {
+        // given
+        RuntimeTypePrinterResolver printerResolver = newResolver();
+        // when
+        Printer printer = printerResolver.resolve("fallbackPrinter", Object.class);
+        // then
+        assertSame(fallbackPrinter, printer);
+    }
+
+    @Test
+    public void resolveConcreteTypeByDelegate() {
+        // given
+        RuntimeTypePrinterResolver printerResolver = newResolver();
+        // when
+        Printer printer = printerResolver.resolve("", Integer.class);
+        // then
+        assertSame(overriddenToStringPrinter, printer);
+    }
+
+    @Test
+    public void resolveRuntimeTypeOnce() {
+        // given
+        Printer printer = spy(new ToStringPrinter());
+        RuntimeTypePrinterResolver printerResolver = newResolver(printer);
+        Printer runtimeTypePrinter = printerResolver.resolve("", Object.class);
+        // when
+        runtimeTypePrinter.print(new Dto());
+        runtimeTypePrinter.print(new Dto());
+        runtimeTypePrinter.print(new Dto());
+        // then
+        verify(printer).supports(Dto.class);
+        verify(printer, times(3)).print(any(Dto.class));
+    }
+
+    @Test
+    public void resolveNamedPrinterByRuntimeType() {
+        // given
+        Printer dtoPrinter = new ToStringPrinter() {
+            @Override
+            public boolean supports(Class<?> clazz) {
+                return Dto.class.isAssignableFrom(clazz);
+            }
+        }.addPreProcessor(input -> "dto");
+        Map<String, Printer> printers = new LinkedHashMap<>();
+        printers.put("overriddenToStringPrinter", overriddenToStringPrinter);
+        printers.put("fallbackPrinter", fallbackPrinter);
+        printers.put("dtoPrinter", dtoPrinter);
+        RuntimeTypePrinterResolver printerResolver =
+                new RuntimeTypePrinterResolver(new AliasedPrinterResolver(printers, singletonMap("dtoAlias", "dtoPrinter")));
+        // when
+        Printer namedPrinter = printerResolver.resolve("dtoPrinter", Object.class);
+        Printer aliasedPrinter = printerResolver.resolve("dtoAlias", Object.class);
+        Printer unnamedPrinter = printerResolver.resolve("", Object.class);
+        // then
+        assertThat(namedPrinter.print(new Dto()), is("\"dto\""));
+        assertThat(namedPrinter.print(1), is("1"));
+        assertThat(aliasedPrinter.print(new Dto()), is("\"dto\""));
+        assertThat(unnamedPrinter.print(new Dto()), is("\"fallback\""));
+    }
+
+    private static class Dto {
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer.snapshot;
+
+import org.junit.Test;
+import ru.tinkoff.eclair.printer.Printer;
+import ru.tinkoff.eclair.printer.ToStringPrinter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class ImmutableSnapshotStrategyTest {
+
+    private final Printer printer = new ToStringPrinter();
+    private final ImmutableSnapshotStrategy strategy = new ImmutableSnapshotStrategy(PrintingSnapshotStrategy.getInstance());
+
+    @Test
+    public void isImmutable() {
+        assertTrue(strategy.isImmutable(String.class));
+        assertTrue(strategy.isImmutable(Integer.class));
+        assertTrue(strategy.isImmutable(BigDecimal.class));
+        assertTrue(strategy.isImmutable(TimeUnit.class));
+        assertTrue(strategy.isImmutable(TimeUnit.SECONDS.getClass()));
+        assertTrue(strategy.isImmutable(LocalDate.class));
+        assertTrue(strategy.isImmutable(ZoneId.systemDefault().getClass()));
+        assertFalse(strategy.isImmutable(ArrayList.class));
+        assertFalse(strategy.isImmutable(StringBuilder.class));
+        assertFalse(strategy.isImmutable(new BigDecimal("1") {
+        }.getClass()));
+    }
+
+    @Test
+    public void captureImmutable() {
+        // given
+        String input = "input";
+        // when
+        Object snapshot = strategy.capture(input, printer);
+        // then
+        assertThat(snapshot, sameInstance(input));
+    }
+
+    @Test
+    public void captureMutableByDelegate() {
+        // given
+        StringBuilder input = new StringBuilder("input");
+        // when
+        Object snapshot = strategy.capture(input, printer);
+        input.append("-changed");
+        // then
+        assertThat(snapshot, instanceOf(PrintedSnapshot.class));
+        assertThat(snapshot.toString(), is("input"));
+    }
+
+    @Test
+    public void captureAddedImmutableType() {
+        // given
+        StringBuilder input = new StringBuilder("input");
+        strategy.addImmutableType(StringBuilder.class);
+        // when
+        Object snapshot = strategy.capture(input, printer);
+        // then
+        assertThat(snapshot, sameInstance(input));
+    }
+}
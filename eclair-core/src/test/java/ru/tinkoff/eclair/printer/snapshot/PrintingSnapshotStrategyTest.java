@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer.snapshot;
+
+import org.junit.Test;
+import ru.tinkoff.eclair.printer.Printer;
+import ru.tinkoff.eclair.printer.ToStringPrinter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class PrintingSnapshotStrategyTest {
+
+    @Test
+    public void capture() {
+        // given
+        List<String> input = new ArrayList<>(asList("a", "b"));
+        // when
+        Object snapshot = PrintingSnapshotStrategy.getInstance().capture(input, new ToStringPrinter());
+        input.clear();
+        // then
+        assertThat(snapshot, instanceOf(PrintedSnapshot.class));
+        assertThat(((PrintedSnapshot) snapshot).getValue(), is("[a, b]"));
+    }
+
+    @Test
+    public void captureByDefaultPrinterIfFailed() {
+        // given
+        Printer printer = new Printer() {
+            @Override
+            protected String serialize(Object input) {
+                throw new IllegalStateException();
+            }
+        };
+        // when
+        Object snapshot = PrintingSnapshotStrategy.getInstance().capture(1, printer);
+        // then
+        assertThat(snapshot.toString(), is("1"));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018 Tinkoff Bank
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.tinkoff.eclair.printer.snapshot;
+
+import org.junit.Test;
+import ru.tinkoff.eclair.printer.Printer;
+import ru.tinkoff.eclair.printer.ToStringPrinter;
+
+import java.util.*;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.reverseOrder;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Vyacheslav Klapatnyuk
+ */
+public class ShallowCopySnapshotStrategyTest {
+
+    private final Printer printer = new ToStringPrinter();
+    private final ShallowCopySnapshotStrategy strategy = new ShallowCopySnapshotStrategy();
+
+    @Test
+    public void captureArray() {
+        // given
+        int[] input = {1, 2};
+        // when
+        Object snapshot = strategy.capture(input, printer);
+        input[0] = 3;
+        // then
+        assertThat(snapshot, is(new int[]{1, 2}));
+    }
+
+    @Test
+    public void captureObjectArrayWithoutCopyingElements() {
+        // given
+        StringBuilder element = new StringBuilder();
+        StringBuilder[] input = {element};
+        // when
+        Object snapshot = strategy.capture(input, printer);
+        // then
+        assertThat(snapshot, not(sameInstance(input)));
+        assertThat(((StringBuilder[]) snapshot)[0], sameInstance(element));
+    }
+
+    @Test
+    public void captureList() {
+        // given
+        List<String> input = new LinkedList<>(asList("a", "b"));
+        // when
+        Object snapshot = strategy.capture(input, printer);
+        input.clear();
+        // then
+        assertThat(snapshot, instanceOf(LinkedList.class));
+        assertThat(snapshot, is(asList("a", "b")));
+    }
+
+    @Test
+    public void captureSortedSetWithComparator() {
+        // given
+        SortedSet<String> input = new TreeSet<>(reverseOrder());
+        input.addAll(asList("a", "b"));
+        // when
+        Object snapshot = strategy.capture(input, printer);
+        input.clear();
+        // then
+        assertThat(snapshot, instanceOf(TreeSet.class));
+        assertThat(new ArrayList<>((Set<?>) snapshot), is(asList("b", "a")));
+    }
+
+    @Test
+    public void captureMap() {
+        // given
+        Map<String, String> input = new HashMap<>();
+        input.put("a", "b");
+        // when
+        Object snapshot = strategy.capture(input, printer);
+        input.clear();
+        // then
+        assertThat(snapshot, instanceOf(HashMap.class));
+        assertThat(snapshot, is(Collections.singletonMap("a", "b")));
+    }
+
+    @Test
+    public void captureApplicationCollectionByDelegate() {
+        // given
+        List<String> input = new ApplicationList();
+        input.add("a");
+        // when
+        Object snapshot = strategy.capture(input, printer);
+        input.clear();
+        // then
+        assertThat(snapshot, instanceOf(PrintedSnapshot.class));
+        assertThat(snapshot.toString(), is("[a]"));
+    }
+
+    @Test
+    public void captureNotCloneableJdkCollectionByDelegate() {
+        // given
+        List<String> list = new ArrayList<>(singletonList("a"));
+        List<String> input = Collections.unmodifiableList(list);
+        // when
+        Object snapshot = strategy.capture(input, printer);
+        list.clear();
+        // then
+        assertThat(snapshot, instanceOf(PrintedSnapshot.class));
+        assertThat(snapshot.toString(), is("[a]"));
+    }
+
+    @Test
+    public void captureOtherByDelegate() {
+        // given
+        StringBuilder input = new StringBuilder("input");
+        // when
+        Object snapshot = strategy.capture(input, printer);
+        input.append("-changed");
+        // then
+        assertThat(snapshot.toString(), is("input"));
+    }
+
+    private static class ApplicationList extends ArrayList<String> {
+    }
+}
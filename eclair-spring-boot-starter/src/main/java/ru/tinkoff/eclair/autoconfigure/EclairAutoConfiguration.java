@@ -21,6 +21,9 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.logging.log4j2.Log4J2LoggingSystem;
+import org.springframework.boot.logging.logback.LogbackLoggingSystem;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.expression.BeanFactoryResolver;
@@ -33,21 +36,31 @@ import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.util.ClassUtils;
 import ru.tinkoff.eclair.aop.EclairProxyCreator;
 import ru.tinkoff.eclair.core.AnnotationDefinitionFactory;
 import ru.tinkoff.eclair.core.BeanFactoryHelper;
 import ru.tinkoff.eclair.core.ExpressionEvaluator;
+import ru.tinkoff.eclair.logger.AsyncLogger;
 import ru.tinkoff.eclair.logger.EclairLogger;
 import ru.tinkoff.eclair.logger.SimpleLogger;
+import ru.tinkoff.eclair.logger.facade.CachingLoggerFacadeFactory;
+import ru.tinkoff.eclair.logger.facade.Log4j2LoggerFacadeFactory;
+import ru.tinkoff.eclair.logger.facade.LogbackLoggerFacadeFactory;
+import ru.tinkoff.eclair.logger.facade.LoggerFacadeFactory;
+import ru.tinkoff.eclair.logger.facade.Slf4JLoggerFacadeFactory;
 import ru.tinkoff.eclair.printer.*;
 import ru.tinkoff.eclair.printer.processor.JaxbElementWrapper;
 import ru.tinkoff.eclair.printer.resolver.AliasedPrinterResolver;
 import ru.tinkoff.eclair.printer.resolver.PrinterResolver;
+import ru.tinkoff.eclair.printer.resolver.RuntimeTypePrinterResolver;
+import ru.tinkoff.eclair.printer.snapshot.SnapshotStrategy;
 
 import java.util.List;
 
 import static java.util.Collections.singletonList;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * @author Vyacheslav Klapatnyuk
@@ -56,6 +69,9 @@ import static java.util.Objects.isNull;
 @EnableConfigurationProperties(EclairProperties.class)
 public class EclairAutoConfiguration {
 
+    private static final String LOGBACK_CONTEXT_CLASS_NAME = "ch.qos.logback.classic.LoggerContext";
+    private static final String LOG4J2_LOGGER_CLASS_NAME = "org.apache.logging.log4j.spi.ExtendedLogger";
+
     private final GenericApplicationContext applicationContext;
 
     public EclairAutoConfiguration(GenericApplicationContext applicationContext) {
@@ -64,8 +80,36 @@ public class EclairAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public EclairLogger simpleLogger() {
-        return new SimpleLogger();
+    public EclairLogger simpleLogger(LoggerFacadeFactory loggerFacadeFactory,
+                                     EclairProperties eclairProperties,
+                                     ObjectProvider<SnapshotStrategy> snapshotStrategy) {
+        SimpleLogger logger = new SimpleLogger(loggerFacadeFactory, LoggingSystem.get(SimpleLogger.class.getClassLoader()));
+        if (!eclairProperties.isAsyncLogging()) {
+            return logger;
+        }
+        AsyncLogger asyncLogger = new AsyncLogger(logger, eclairProperties.getAsyncBufferSize(),
+                eclairProperties.getAsyncWorkerCount(), eclairProperties.getAsyncOverflowPolicy());
+        SnapshotStrategy strategy = snapshotStrategy.getIfUnique();
+        if (nonNull(strategy)) {
+            asyncLogger.setSnapshotStrategy(strategy);
+        }
+        return asyncLogger;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LoggerFacadeFactory loggerFacadeFactory() {
+        ClassLoader classLoader = SimpleLogger.class.getClassLoader();
+        LoggingSystem loggingSystem = LoggingSystem.get(classLoader);
+        if (loggingSystem instanceof LogbackLoggingSystem
+                && ClassUtils.isPresent(LOGBACK_CONTEXT_CLASS_NAME, classLoader)
+                && LogbackLoggerFacadeFactory.isBound()) {
+            return new CachingLoggerFacadeFactory(new LogbackLoggerFacadeFactory());
+        }
+        if (loggingSystem instanceof Log4J2LoggingSystem && ClassUtils.isPresent(LOG4J2_LOGGER_CLASS_NAME, classLoader)) {
+            return new CachingLoggerFacadeFactory(new Log4j2LoggerFacadeFactory());
+        }
+        return new CachingLoggerFacadeFactory(new Slf4JLoggerFacadeFactory());
     }
 
     @Bean
@@ -97,8 +141,10 @@ public class EclairAutoConfiguration {
         @Bean
         @ConditionalOnMissingBean
         @Order(0)
-        public OverriddenToStringPrinter overriddenToStringPrinter() {
-            return new OverriddenToStringPrinter();
+        public OverriddenToStringPrinter overriddenToStringPrinter(EclairProperties eclairProperties) {
+            OverriddenToStringPrinter printer = new OverriddenToStringPrinter();
+            printer.setMaxLength(eclairProperties.getPrinterMaxLength());
+            return printer;
         }
 
         @Configuration
@@ -109,10 +155,12 @@ public class EclairAutoConfiguration {
             @ConditionalOnSingleCandidate(Jaxb2Marshaller.class)
             @ConditionalOnMissingBean(Jaxb2Printer.class)
             @Order(100)
-            public Printer jaxb2Printer(ObjectProvider<Jaxb2Marshaller> jaxb2Marshaller) {
+            public Printer jaxb2Printer(ObjectProvider<Jaxb2Marshaller> jaxb2Marshaller, EclairProperties eclairProperties) {
                 Jaxb2Marshaller marshaller = jaxb2Marshaller.getObject();
                 return new Jaxb2Printer(marshaller)
-                        .addPreProcessor(new JaxbElementWrapper(marshaller));
+                        .setMarshallerReuse(eclairProperties.isJaxb2PrinterMarshallerReuse())
+                        .addPreProcessor(new JaxbElementWrapper(marshaller))
+                        .setMaxLength(eclairProperties.getPrinterMaxLength());
             }
         }
 
@@ -124,28 +172,64 @@ public class EclairAutoConfiguration {
             @ConditionalOnSingleCandidate(ObjectMapper.class)
             @ConditionalOnMissingBean
             @Order(200)
-            public JacksonPrinter jacksonPrinter(ObjectProvider<ObjectMapper> objectMapper) {
-                return new JacksonPrinter(objectMapper.getObject());
+            public JacksonPrinter jacksonPrinter(ObjectProvider<ObjectMapper> objectMapper, EclairProperties eclairProperties) {
+                ObjectMapper mapper = objectMapper.getObject();
+                JacksonPrinter printer = eclairProperties.isJacksonPrinterTuned()
+                        ? JacksonPrinter.newLoggingInstance(mapper)
+                        : new JacksonPrinter(mapper);
+                printer.setMaxLength(eclairProperties.getPrinterMaxLength());
+                return printer;
             }
         }
 
         @Bean
         @ConditionalOnMissingBean(ignored = OverriddenToStringPrinter.class)
         @Order(300)
-        public ToStringPrinter toStringPrinter() {
-            return new ToStringPrinter();
+        public ToStringPrinter toStringPrinter(EclairProperties eclairProperties) {
+            ToStringPrinter printer = new ToStringPrinter();
+            printer.setMaxLength(eclairProperties.getPrinterMaxLength());
+            return printer;
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @Order(400)
+        public FieldPrinter fieldPrinter(EclairProperties eclairProperties) {
+            FieldPrinter printer = new FieldPrinter();
+            printer.setMaxLength(eclairProperties.getPrinterMaxLength());
+            return printer;
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @Order(500)
+        public SummarizingPrinter summarizingPrinter(EclairProperties eclairProperties) {
+            SummarizingPrinter printer = new SummarizingPrinter();
+            printer.setMaxLength(eclairProperties.getPrinterMaxLength());
+            return printer;
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @Order(600)
+        public BinaryPrinter binaryPrinter(EclairProperties eclairProperties) {
+            BinaryPrinter printer = new BinaryPrinter();
+            printer.setMaxLength(eclairProperties.getPrinterMaxLength());
+            return printer;
         }
 
         @Bean
         @ConditionalOnMissingBean
         public PrinterResolver printerResolver(GenericApplicationContext applicationContext,
-                                               ObjectProvider<List<Printer>> printersObjectProvider) {
+                                               ObjectProvider<List<Printer>> printersObjectProvider,
+                                               EclairProperties eclairProperties) {
             List<Printer> orderedPrinters = printersObjectProvider.getIfAvailable();
             List<Printer> printers = isNull(orderedPrinters) ? singletonList(PrinterResolver.defaultPrinter) : orderedPrinters;
             BeanFactoryHelper beanFactoryHelper = BeanFactoryHelper.getInstance();
-            return new AliasedPrinterResolver(
+            PrinterResolver printerResolver = new AliasedPrinterResolver(
                     beanFactoryHelper.collectToOrderedMap(applicationContext, Printer.class, printers),
                     beanFactoryHelper.getAliases(applicationContext, Printer.class));
+            return eclairProperties.isRuntimeTypePrinting() ? new RuntimeTypePrinterResolver(printerResolver) : printerResolver;
         }
     }
 }
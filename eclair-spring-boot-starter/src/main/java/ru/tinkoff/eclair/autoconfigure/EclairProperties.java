@@ -16,6 +16,7 @@
 package ru.tinkoff.eclair.autoconfigure;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import ru.tinkoff.eclair.logger.AsyncLogger;
 
 /**
  * @author Vyacheslav Klapatnyuk
@@ -25,6 +26,47 @@ class EclairProperties {
 
     private boolean validate = true;
 
+    /**
+     * Max length of values printed by auto-configured printers, non-positive value means no limit.
+     */
+    private int printerMaxLength;
+
+    /**
+     * Whether auto-configured Jackson printer should use the copy of application {@code ObjectMapper} tuned for logging.
+     * Note: changes the printed JSON, e.g. {@code null} properties are omitted.
+     */
+    private boolean jacksonPrinterTuned;
+
+    /**
+     * Whether auto-configured JAXB printer should reuse per-thread marshallers configured by application {@code Jaxb2Marshaller}.
+     */
+    private boolean jaxb2PrinterMarshallerReuse = true;
+
+    /**
+     * Whether printers of {@code Object}, interface or abstract parameters should be resolved by runtime class of values.
+     */
+    private boolean runtimeTypePrinting;
+
+    /**
+     * Whether auto-configured logger should print and log events on worker threads.
+     */
+    private boolean asyncLogging;
+
+    /**
+     * Count of events waiting for asynchronous logging, rounded up to the power of two.
+     */
+    private int asyncBufferSize = AsyncLogger.DEFAULT_BUFFER_SIZE;
+
+    /**
+     * Count of threads performing asynchronous logging.
+     */
+    private int asyncWorkerCount = AsyncLogger.DEFAULT_WORKER_COUNT;
+
+    /**
+     * Behavior of invoking thread if the buffer of asynchronous logging is full.
+     */
+    private AsyncLogger.OverflowPolicy asyncOverflowPolicy = AsyncLogger.OverflowPolicy.BLOCK;
+
     public boolean isValidate() {
         return validate;
     }
@@ -32,4 +74,68 @@ class EclairProperties {
     public void setValidate(boolean validate) {
         this.validate = validate;
     }
+
+    public int getPrinterMaxLength() {
+        return printerMaxLength;
+    }
+
+    public void setPrinterMaxLength(int printerMaxLength) {
+        this.printerMaxLength = printerMaxLength;
+    }
+
+    public boolean isJacksonPrinterTuned() {
+        return jacksonPrinterTuned;
+    }
+
+    public void setJacksonPrinterTuned(boolean jacksonPrinterTuned) {
+        this.jacksonPrinterTuned = jacksonPrinterTuned;
+    }
+
+    public boolean isJaxb2PrinterMarshallerReuse() {
+        return jaxb2PrinterMarshallerReuse;
+    }
+
+    public void setJaxb2PrinterMarshallerReuse(boolean jaxb2PrinterMarshallerReuse) {
+        this.jaxb2PrinterMarshallerReuse = jaxb2PrinterMarshallerReuse;
+    }
+
+    public boolean isRuntimeTypePrinting() {
+        return runtimeTypePrinting;
+    }
+
+    public void setRuntimeTypePrinting(boolean runtimeTypePrinting) {
+        this.runtimeTypePrinting = runtimeTypePrinting;
+    }
+
+    public boolean isAsyncLogging() {
+        return asyncLogging;
+    }
+
+    public void setAsyncLogging(boolean asyncLogging) {
+        this.asyncLogging = asyncLogging;
+    }
+
+    public int getAsyncBufferSize() {
+        return asyncBufferSize;
+    }
+
+    public void setAsyncBufferSize(int asyncBufferSize) {
+        this.asyncBufferSize = asyncBufferSize;
+    }
+
+    public int getAsyncWorkerCount() {
+        return asyncWorkerCount;
+    }
+
+    public void setAsyncWorkerCount(int asyncWorkerCount) {
+        this.asyncWorkerCount = asyncWorkerCount;
+    }
+
+    public AsyncLogger.OverflowPolicy getAsyncOverflowPolicy() {
+        return asyncOverflowPolicy;
+    }
+
+    public void setAsyncOverflowPolicy(AsyncLogger.OverflowPolicy asyncOverflowPolicy) {
+        this.asyncOverflowPolicy = asyncOverflowPolicy;
+    }
 }